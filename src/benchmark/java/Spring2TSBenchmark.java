@@ -0,0 +1,389 @@
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+// Measures the generation pipeline on a synthetic DTO graph and set of controllers that are compiled on the fly.
+// Run with: mvn test-compile exec:java -Dexec.args="classes=500 fields=12 endpoints=1000 cacheReleaseThresholdMb=64 concurrentRuns=8"
+public class Spring2TSBenchmark {
+    private static final List<String> PACKAGES_TO_SCAN = List.of("bench");
+
+    private final Map<String, Integer> settings = new LinkedHashMap<>();
+    private Path workDirectory;
+
+    private Spring2TSBenchmark(String[] args) {
+        settings.put("classes", 200);
+        settings.put("fields", 10);
+        settings.put("genericDepth", 2);
+        settings.put("nesting", 2);
+        settings.put("endpoints", 400);
+        settings.put("warmup", 5);
+        settings.put("iterations", 10);
+        settings.put("cacheReleaseThresholdMb", 64);
+        settings.put("concurrentRuns", 8);
+        // 1 skips the measurements and only runs the checks that fail the benchmark, mvn verify runs it that way
+        settings.put("checksOnly", 0);
+
+        for (String arg : args) {
+            final String[] setting = arg.split("=", 2);
+            if (setting.length != 2 || !settings.containsKey(setting[0]))
+                throw new IllegalArgumentException("Unknown setting " + arg + ", expected one of " + settings.keySet());
+
+            settings.put(setting[0], Integer.parseInt(setting[1]));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Spring2TSBenchmark(args).run();
+    }
+
+    private int setting(String name) {
+        return settings.get(name);
+    }
+
+    private void run() throws Exception {
+        System.out.println("Settings: " + settings);
+
+        // every directory of the benchmark is created in here and deleted with it, also when a check fails
+        workDirectory = Files.createTempDirectory("spring2ts-benchmark");
+        try (URLClassLoader classLoader = compileSyntheticClasses()) {
+            run(classLoader);
+        } finally {
+            deleteRecursively(workDirectory);
+        }
+    }
+
+    private void run(ClassLoader classLoader) throws Exception {
+        final RequestMappingHandlerMapping handlerMapping = Spring2TSBuildTool.createHandlerMapping(PACKAGES_TO_SCAN, classLoader);
+
+        final List<Class<?>> dtoClasses = new ArrayList<>();
+        for (int i = 0; i < setting("classes"); i++) {
+            dtoClasses.add(classLoader.loadClass("bench.model.Dto" + i));
+        }
+
+        final List<Type> fieldTypes = dtoClasses.stream()
+                .flatMap(dtoClass -> Arrays.stream(dtoClass.getDeclaredFields()).map(field -> field.getGenericType()))
+                .toList();
+
+        if (setting("checksOnly") == 1) {
+            measureConcurrency(handlerMapping);
+            checkSnapshot(handlerMapping);
+            return;
+        }
+
+        System.out.printf("%-22s %14s %16s %14s%n", "phase", "ops/s", "bytes/op", "MB/s alloc");
+
+        measure("type resolution", () -> {
+            // every interface is already claimed, so only the resolution itself is measured
+            final TypeScriptInterfaceGenerator generator = new TypeScriptInterfaceGenerator(PACKAGES_TO_SCAN, new InMemoryOutputSink());
+            dtoClasses.forEach(dtoClass -> generator.getGeneratedInterfaces().add(dtoClass.getSimpleName()));
+            generator.getGeneratedInterfaces().addAll(List.of("Box", "Status"));
+            fieldTypes.forEach(generator::javaTypeToTsType);
+        });
+
+        measure("interface rendering", () -> {
+            final TypeScriptInterfaceGenerator generator = new TypeScriptInterfaceGenerator(PACKAGES_TO_SCAN, new InMemoryOutputSink());
+            dtoClasses.forEach(generator::generateTsInterface);
+        });
+
+        final TypeScriptInterfaceGenerator renderedGenerator = new TypeScriptInterfaceGenerator(PACKAGES_TO_SCAN, new InMemoryOutputSink());
+        dtoClasses.forEach(renderedGenerator::generateTsInterface);
+
+        measure("api.ts assembly", () -> new AxiosFileGenerator(handlerMapping, renderedGenerator).generateAxiosFile("api.ts"));
+
+        System.out.printf("%n%-22s %16s %14s %14s%n", "generation", "bytes/op", "peak heap MB", "live MB");
+        measureFootprint("buffered", handlerMapping, module -> {
+        });
+        measureFootprint("low memory", handlerMapping, module -> module.enableLowMemoryMode(setting("cacheReleaseThresholdMb") * 1024L * 1024));
+
+        measureConcurrency(handlerMapping);
+        checkSnapshot(handlerMapping);
+    }
+
+    // a run keeps the settings it started with, so changing the module while it generates must not change its files
+    private void checkSnapshot(RequestMappingHandlerMapping handlerMapping) throws IOException {
+        final Path referenceDirectory = createDirectory("output");
+        final Spring2TSModule referenceModule = new Spring2TSModule(PACKAGES_TO_SCAN, referenceDirectory.toString());
+        referenceModule.enableResponseCaching();
+        referenceModule.generate(handlerMapping).join();
+
+        final Path outputDirectory = createDirectory("output");
+        final Spring2TSModule module = new Spring2TSModule(PACKAGES_TO_SCAN, outputDirectory.toString());
+        final ResponseCacheConfig responseCacheConfig = module.enableResponseCaching();
+        module.addListener(new GenerationListener() {
+            @Override
+            public void onPhaseCompleted(GenerationPhase phase, Duration duration) {
+                if (phase != GenerationPhase.TYPE_SCAN) return;
+
+                // everything a run reads after its types are scanned
+                module.setOutputSink(new InMemoryOutputSink());
+                module.setApiOutputMode(ApiOutputMode.PER_CONTROLLER);
+                module.setClientEmitter(new FetchClientEmitter());
+                module.addDefaultFunction("export const changedDuringRun = true;");
+                module.enableValidators();
+                responseCacheConfig.setDefaultPolicy(new CachePolicy(Duration.ofSeconds(1), 1));
+            }
+        });
+        module.generate(handlerMapping).join();
+
+        final boolean identical = readFiles(outputDirectory).equals(readFiles(referenceDirectory));
+        System.out.printf("%-22s %8s %12s %14s%n", "changed during run", 1, "", identical ? "yes" : "no");
+
+        if (!identical) throw new IllegalStateException("Changing the module during a run changed the files of that run");
+    }
+
+    // modules generating into their own directories at the same time, half of them on the common pool, and concurrent runs
+    // of a single module must all end up with exactly the files of a sequential run
+    private void measureConcurrency(RequestMappingHandlerMapping handlerMapping) throws Exception {
+        final Path referenceDirectory = createDirectory("output");
+        new Spring2TSModule(PACKAGES_TO_SCAN, referenceDirectory.toString()).generate(handlerMapping).join();
+        final Map<String, String> referenceFiles = readFiles(referenceDirectory);
+
+        final int runs = setting("concurrentRuns");
+        final List<Path> outputDirectories = new ArrayList<>();
+        final List<Spring2TSModule> modules = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            outputDirectories.add(createDirectory("output"));
+            modules.add(new Spring2TSModule(PACKAGES_TO_SCAN, outputDirectories.get(i).toString()));
+            if (i % 2 == 1) modules.get(i).enableParallelGeneration();
+        }
+
+        long start = System.nanoTime();
+        runConcurrently(runs, i -> modules.get(i).generate(handlerMapping).join());
+        final long separateModulesMillis = (System.nanoTime() - start) / 1_000_000;
+
+        int identicalOutputs = 0;
+        for (Path outputDirectory : outputDirectories) {
+            if (readFiles(outputDirectory).equals(referenceFiles)) identicalOutputs++;
+        }
+
+        // the runs of one module wait for each other, every run after the first finds its files unchanged
+        final Path sharedDirectory = createDirectory("output");
+        final Spring2TSModule sharedModule = new Spring2TSModule(PACKAGES_TO_SCAN, sharedDirectory.toString());
+        start = System.nanoTime();
+        runConcurrently(runs, i -> sharedModule.generate(handlerMapping).join());
+        final long sharedModuleMillis = (System.nanoTime() - start) / 1_000_000;
+        final boolean sharedOutputIdentical = readFiles(sharedDirectory).equals(referenceFiles);
+
+        System.out.printf("%n%-22s %8s %12s %14s%n", "concurrency", "runs", "ms", "identical");
+        System.out.printf("%-22s %8d %12d %14s%n", "separate modules", runs, separateModulesMillis, identicalOutputs + "/" + runs);
+        System.out.printf("%-22s %8d %12d %14s%n", "one module", runs, sharedModuleMillis, sharedOutputIdentical ? "yes" : "no");
+
+        if (identicalOutputs != runs || !sharedOutputIdentical)
+            throw new IllegalStateException("Concurrent runs did not generate the files of a sequential run");
+    }
+
+    // starts every run at the same time and rethrows the first failure
+    private static void runConcurrently(int runs, IntConsumer run) throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(runs);
+        final CountDownLatch startSignal = new CountDownLatch(1);
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                final int index = i;
+                futures.add(executorService.submit(() -> {
+                    startSignal.await();
+                    run.accept(index);
+                    return null;
+                }));
+            }
+
+            startSignal.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private Path createDirectory(String prefix) throws IOException {
+        return Files.createTempDirectory(workDirectory, prefix);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            // the deepest paths first, a directory can only be deleted once it is empty
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    // the content of every file by its path relative to the directory
+    private static Map<String, String> readFiles(Path directory) throws IOException {
+        final Map<String, String> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.filter(Files::isRegularFile).toList()) {
+                files.put(directory.relativize(path).toString(), Files.readString(path, StandardCharsets.UTF_8));
+            }
+        }
+        return files;
+    }
+
+    // a whole run into an empty directory. The peak includes garbage that was not collected yet, live is the heap that is
+    // still reachable once everything is rendered, right before the files are flushed, including the benchmark's own
+    private void measureFootprint(String mode, RequestMappingHandlerMapping handlerMapping, Consumer<Spring2TSModule> configuration) throws IOException {
+        generate(handlerMapping, configuration, null);
+        System.gc();
+
+        final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream().filter(pool -> pool.getType() == MemoryType.HEAP).toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+
+        final long[] liveHeap = new long[1];
+        final long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        generate(handlerMapping, configuration, new GenerationListener() {
+            @Override
+            public void onPhaseCompleted(GenerationPhase phase, Duration duration) {
+                if (phase != GenerationPhase.AXIOS_RENDERING) return;
+
+                System.gc();
+                liveHeap[0] = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            }
+        });
+        final long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        final long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+        System.out.printf("%-22s %16d %14.1f %14.1f%n", mode, allocated, peakHeap / (1024.0 * 1024), liveHeap[0] / (1024.0 * 1024));
+    }
+
+    private void generate(RequestMappingHandlerMapping handlerMapping, Consumer<Spring2TSModule> configuration, GenerationListener listener) throws IOException {
+        final Spring2TSModule module = new Spring2TSModule(PACKAGES_TO_SCAN, createDirectory("output").toString());
+        configuration.accept(module);
+        if (listener != null) module.addListener(listener);
+        module.generate(handlerMapping).join();
+    }
+
+    private void measure(String phase, Runnable operation) {
+        for (int i = 0; i < setting("warmup"); i++) {
+            operation.run();
+        }
+
+        final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+
+        final long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        final long start = System.nanoTime();
+        for (int i = 0; i < setting("iterations"); i++) {
+            operation.run();
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        final double operationsPerSecond = setting("iterations") / (elapsed / 1e9);
+        final long bytesPerOperation = allocated / setting("iterations");
+        System.out.printf("%-22s %14.2f %16d %14.1f%n", phase, operationsPerSecond, bytesPerOperation, bytesPerOperation * operationsPerSecond / (1024 * 1024));
+    }
+
+    private URLClassLoader compileSyntheticClasses() throws IOException {
+        final Path sourceDirectory = createDirectory("sources");
+        final Path classDirectory = createDirectory("classes");
+
+        final List<Path> sources = new ArrayList<>();
+        sources.add(writeSource(sourceDirectory, "bench.model", "Status", "public enum Status { ACTIVE, INACTIVE, DELETED }"));
+        sources.add(writeSource(sourceDirectory, "bench.model", "Box", "public class Box<T> { private T value; private java.util.List<T> values; }"));
+
+        for (int i = 0; i < setting("classes"); i++) {
+            sources.add(writeSource(sourceDirectory, "bench.model", "Dto" + i, generateDto(i)));
+        }
+
+        final int endpointsPerController = 20;
+        for (int controller = 0; controller * endpointsPerController < setting("endpoints"); controller++) {
+            final int firstEndpoint = controller * endpointsPerController;
+            final int lastEndpoint = Math.min(setting("endpoints"), firstEndpoint + endpointsPerController);
+            sources.add(writeSource(sourceDirectory, "bench.api", "Controller" + controller, generateController(controller, firstEndpoint, lastEndpoint)));
+        }
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) throw new IllegalStateException("The benchmark needs a JDK to compile the synthetic classes");
+
+        final List<String> arguments = new ArrayList<>(List.of("-parameters", "-nowarn", "-d", classDirectory.toString(), "-cp", System.getProperty("java.class.path")));
+        sources.forEach(source -> arguments.add(source.toString()));
+
+        if (compiler.run(null, null, null, arguments.toArray(String[]::new)) != 0)
+            throw new IllegalStateException("Could not compile the synthetic classes");
+
+        return new URLClassLoader(new URL[]{classDirectory.toUri().toURL()}, Spring2TSBenchmark.class.getClassLoader());
+    }
+
+    private Path writeSource(Path sourceDirectory, String packageName, String className, String body) throws IOException {
+        final Path source = sourceDirectory.resolve(packageName.replace('.', File.separatorChar)).resolve(className + ".java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, "package " + packageName + ";\n\n" + body + "\n", StandardCharsets.UTF_8);
+        return source;
+    }
+
+    private String generateDto(int index) {
+        final StringBuilder dto = new StringBuilder("public class Dto" + index + " {\n");
+
+        for (int field = 0; field < setting("fields"); field++) {
+            final String referencedDto = "Dto" + (index + field + 1) % setting("classes");
+
+            final String fieldType = switch (field % 6) {
+                case 0 -> "String";
+                case 1 -> "int";
+                case 2 -> "Status";
+                case 3 -> nestedCollection(setting("nesting"), referencedDto);
+                case 4 -> "Box<".repeat(setting("genericDepth")) + referencedDto + ">".repeat(setting("genericDepth"));
+                default -> referencedDto;
+            };
+
+            dto.append("\tprivate ").append(fieldType).append(" field").append(field).append(";\n");
+        }
+
+        return dto.append("}").toString();
+    }
+
+    private String nestedCollection(int depth, String elementType) {
+        if (depth <= 0) return elementType;
+
+        final String inner = nestedCollection(depth - 1, elementType);
+        return depth % 2 == 1 ? "java.util.List<" + inner + ">" : "java.util.Map<String, " + inner + ">";
+    }
+
+    private String generateController(int controller, int firstEndpoint, int lastEndpoint) {
+        final StringBuilder source = new StringBuilder("import bench.model.*;\nimport org.springframework.web.bind.annotation.*;\n\n");
+        source.append("@RestController\n@RequestMapping(\"/controller").append(controller).append("\")\n");
+        source.append("public class Controller").append(controller).append(" {\n");
+
+        for (int endpoint = firstEndpoint; endpoint < lastEndpoint; endpoint++) {
+            final String dto = "Dto" + endpoint % setting("classes");
+
+            if (endpoint % 2 == 0) {
+                source.append("\t@GetMapping(\"/endpoint").append(endpoint).append("/{id}\")\n");
+                source.append("\tpublic ").append(dto).append(" endpoint").append(endpoint)
+                        .append("(@PathVariable(\"id\") long id, @RequestParam(\"query\") String query) { return null; }\n");
+            } else {
+                source.append("\t@PostMapping(\"/endpoint").append(endpoint).append("\")\n");
+                source.append("\tpublic java.util.List<").append(dto).append("> endpoint").append(endpoint)
+                        .append("(@RequestBody ").append(dto).append(" body) { return null; }\n");
+            }
+        }
+
+        return source.append("}").toString();
+    }
+}
@@ -0,0 +1,6 @@
+public enum ApiOutputMode {
+    // every endpoint in a single api.ts
+    SINGLE_FILE,
+    // one module per controller in api/, with an index.ts barrel
+    PER_CONTROLLER
+}
@@ -0,0 +1,198 @@
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// The generated API without the classes it was read from: every type and endpoint with its TypeScript types, so the
+// files can be generated again, or compared with an earlier version, without the application on the classpath
+public record ApiSchema(int version, List<TypeDefinition> types, List<Service> services) {
+    // bumped whenever a schema of an older version can no longer be read
+    public static final int VERSION = 1;
+    public static final String FILE_NAME = "spring2ts-schema.json";
+
+    private static final Pattern TYPE_NAME_PATTERN = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+    private static final Pattern PATH_VARIABLE_PATTERN = Pattern.compile("\\{(.*?)}");
+
+    public ApiSchema {
+        types = types == null ? List.of() : List.copyOf(types);
+        services = services == null ? List.of() : List.copyOf(services);
+    }
+
+    public String toJson() {
+        try {
+            return Json.OBJECT_MAPPER.writeValueAsString(this);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static ApiSchema fromJson(String json) {
+        final ApiSchema schema;
+        try {
+            schema = Json.OBJECT_MAPPER.readValue(json, ApiSchema.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+
+        if (schema.version() > VERSION) throw new IllegalArgumentException("Schema version " + schema.version() + " is newer than " + VERSION);
+        return schema;
+    }
+
+    // the names of the known types a TypeScript type refers to, e.g. User and Address in Map<string, Array<User | Address>>
+    public static void collectTypeNames(String tsType, Set<String> knownTypes, Set<String> typeNames) {
+        if (tsType == null) return;
+
+        final Matcher matcher = TYPE_NAME_PATTERN.matcher(tsType);
+        while (matcher.find()) {
+            if (knownTypes.contains(matcher.group())) typeNames.add(matcher.group());
+        }
+    }
+
+    // the generic parameters, e.g. T of PageDto<T>, are written as they are in the field types, the members of a union
+    // are TypeScript types as well
+    public record TypeDefinition(String name, TypeKind kind, List<String> typeParameters, String superType, List<Field> fields,
+                                 List<String> constants, List<String> members) {
+        public TypeDefinition {
+            typeParameters = typeParameters == null ? List.of() : List.copyOf(typeParameters);
+            fields = fields == null ? List.of() : List.copyOf(fields);
+            constants = constants == null ? List.of() : List.copyOf(constants);
+            members = members == null ? List.of() : List.copyOf(members);
+        }
+    }
+
+    // primitive fields are the only ones Jackson never writes as null, schemas without the flag read every field as nullable
+    public record Field(String name, String type, @JsonInclude(JsonInclude.Include.NON_DEFAULT) boolean primitive) {
+        public Field(String name, String type) {
+            this(name, type, false);
+        }
+    }
+
+    // the endpoints of one service of a merged package, the name is empty when only one service is generated
+    public record Service(String name, List<Endpoint> endpoints) {
+        public Service {
+            name = name == null ? "" : name;
+            endpoints = endpoints == null ? List.of() : List.copyOf(endpoints);
+        }
+    }
+
+    // path variables are written as {name}, the response type is the element type for streams. The URL segments and the
+    // parameters by role are not written, a saved schema is read through fromSchema which derives them again
+    public record Endpoint(String name, String controller, String method, String httpMethod, String path, List<Parameter> parameters,
+                           ResponseKind responseKind, String responseType, String elementType, boolean cacheable,
+                           List<String> cacheNames, List<String> evictedCacheNames,
+                           @JsonIgnore List<HandlerDescriptor.UrlSegment> urlSegments, @JsonIgnore Map<ParameterRole, List<Parameter>> parametersByRole) {
+        public Endpoint {
+            parameters = parameters == null ? List.of() : List.copyOf(parameters);
+            cacheNames = cacheNames == null ? List.of() : List.copyOf(cacheNames);
+            evictedCacheNames = evictedCacheNames == null ? List.of() : List.copyOf(evictedCacheNames);
+            urlSegments = List.copyOf(urlSegments);
+        }
+
+        // a saved schema only has the path, it is parsed into its segments again
+        @JsonCreator
+        public static Endpoint fromSchema(@JsonProperty("name") String name, @JsonProperty("controller") String controller,
+                                          @JsonProperty("method") String method, @JsonProperty("httpMethod") String httpMethod,
+                                          @JsonProperty("path") String path, @JsonProperty("parameters") List<Parameter> parameters,
+                                          @JsonProperty("responseKind") ResponseKind responseKind, @JsonProperty("responseType") String responseType,
+                                          @JsonProperty("elementType") String elementType, @JsonProperty("cacheable") boolean cacheable,
+                                          @JsonProperty("cacheNames") List<String> cacheNames, @JsonProperty("evictedCacheNames") List<String> evictedCacheNames) {
+            final List<Parameter> endpointParameters = parameters == null ? List.of() : List.copyOf(parameters);
+            return new Endpoint(name, controller, method, httpMethod, path, endpointParameters, responseKind, responseType, elementType,
+                    cacheable, cacheNames, evictedCacheNames, parseUrlSegments(path), groupByRole(endpointParameters));
+        }
+
+        // resolves the Java types of the handler method, which generates their interfaces as well
+        public static Endpoint of(HandlerDescriptor descriptor, TypeScriptInterfaceGenerator typeScriptInterfaceGenerator) {
+            final StringBuilder path = new StringBuilder();
+            descriptor.getUrlSegments().forEach(segment -> path.append(segment.pathVariable() ? "{" + segment.value() + "}" : segment.value()));
+
+            final List<Parameter> parameters = new ArrayList<>();
+            descriptor.getPathVariables().forEach(binding -> parameters.add(Parameter.of(binding, typeScriptInterfaceGenerator)));
+            descriptor.getRequestParams().forEach(binding -> parameters.add(Parameter.of(binding, typeScriptInterfaceGenerator)));
+            descriptor.getPageable().ifPresent(binding -> parameters.add(new Parameter(binding.role(), binding.name(), null)));
+            descriptor.getRequestBody().ifPresent(binding -> parameters.add(Parameter.of(binding, typeScriptInterfaceGenerator)));
+
+            // the content of a Page or Slice, what its iterator yields
+            String elementType = null;
+            if (descriptor.getResponseKind() == ResponseKind.PAGE || descriptor.getResponseKind() == ResponseKind.SLICE) {
+                final Type contentType = descriptor.getResponseType() instanceof ParameterizedType parameterizedType
+                        ? parameterizedType.getActualTypeArguments()[0] : Object.class;
+                elementType = typeScriptInterfaceGenerator.javaTypeToTsType(contentType).getTsType();
+            }
+
+            return new Endpoint(descriptor.getEndpointName(), descriptor.getBeanType().getSimpleName(), descriptor.getMethodName(),
+                    descriptor.getHttpMethod(), path.toString(), parameters, descriptor.getResponseKind(),
+                    typeScriptInterfaceGenerator.javaTypeToTsType(descriptor.getResponseType()).getTsType(), elementType,
+                    descriptor.isCacheable(), List.copyOf(descriptor.getCacheNames()), List.copyOf(descriptor.getEvictedCacheNames()),
+                    descriptor.getUrlSegments(), groupByRole(parameters));
+        }
+
+        private static List<HandlerDescriptor.UrlSegment> parseUrlSegments(String path) {
+            final List<HandlerDescriptor.UrlSegment> urlSegments = new ArrayList<>();
+            final Matcher matcher = PATH_VARIABLE_PATTERN.matcher(path);
+
+            int literalStart = 0;
+            while (matcher.find()) {
+                if (matcher.start() > literalStart) urlSegments.add(new HandlerDescriptor.UrlSegment(path.substring(literalStart, matcher.start()), false));
+                urlSegments.add(new HandlerDescriptor.UrlSegment(matcher.group(1), true));
+                literalStart = matcher.end();
+            }
+            if (literalStart < path.length()) urlSegments.add(new HandlerDescriptor.UrlSegment(path.substring(literalStart), false));
+
+            return List.copyOf(urlSegments);
+        }
+
+        private static Map<ParameterRole, List<Parameter>> groupByRole(List<Parameter> parameters) {
+            final Map<ParameterRole, List<Parameter>> parametersByRole = new EnumMap<>(ParameterRole.class);
+            parameters.forEach(parameter -> parametersByRole.computeIfAbsent(parameter.role(), role -> new ArrayList<>()).add(parameter));
+            parametersByRole.replaceAll((role, parametersOfRole) -> List.copyOf(parametersOfRole));
+
+            return Collections.unmodifiableMap(parametersByRole);
+        }
+
+        // in the order of the handler method
+        public List<Parameter> getParameters(ParameterRole role) {
+            return parametersByRole.getOrDefault(role, List.of());
+        }
+
+        public Optional<Parameter> getParameter(ParameterRole role) {
+            return getParameters(role).stream().findFirst();
+        }
+
+        @JsonIgnore
+        public boolean isStreaming() {
+            return responseKind == ResponseKind.EVENT_STREAM || responseKind == ResponseKind.JSON_LINES || responseKind == ResponseKind.BYTE_STREAM;
+        }
+
+        @JsonIgnore
+        public boolean isMutating() {
+            return !httpMethod.equals("GET") && !httpMethod.equals("HEAD") && !httpMethod.equals("OPTIONS");
+        }
+    }
+
+    // only created when a schema is written or read, empty lists and names are left out
+    private static final class Json {
+        private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+    }
+
+    // the type of a Pageable is not written, it is always expanded into page, size and sort
+    public record Parameter(ParameterRole role, String name, String type) {
+        private static Parameter of(HandlerDescriptor.ParameterBinding binding, TypeScriptInterfaceGenerator typeScriptInterfaceGenerator) {
+            return new Parameter(binding.role(), binding.name(), typeScriptInterfaceGenerator.javaTypeToTsType(binding.type()).getTsType());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+import java.util.List;
+
+// Every endpoint is a separate axios call, the base url and headers live in the axios defaults
+public class AxiosClientEmitter implements ClientEmitter {
+
+    @Override
+    public String renderImports() {
+        return "import axios from 'axios';\n";
+    }
+
+    @Override
+    public String renderRequest(ApiSchema.Endpoint endpoint, String runtime, String url, String requestBody, String returnType) {
+        return "axios." + endpoint.httpMethod().toLowerCase() + "(" + url + (requestBody == null ? "" : ", " + requestBody)
+                + ").then(response => response.data).catch(error => { throw error })";
+    }
+
+    // axios can not stream in the browser, the stream is read with fetch using the axios defaults
+    @Override
+    public String renderStreamRequest(ApiSchema.Endpoint endpoint, String runtime, String url, String requestBody) {
+        return "fetch((axios.defaults.baseURL ?? '') + " + url + ", { method: '" + endpoint.httpMethod() + "', headers: "
+                + (requestBody == null ? "axios.defaults.headers.common as Record<string, string>"
+                : "{ ...axios.defaults.headers.common, 'Content-Type': 'application/json' } as Record<string, string>, body: JSON.stringify(" + requestBody + ")")
+                + " })";
+    }
+
+    @Override
+    public List<String> getDefaultFunctions() {
+        return List.of(
+                "export const setDefaultHeader = (header: string, value: string) => axios.defaults.headers.common[header] = value;",
+                "export const setBaseUrl = (url: string) => axios.defaults.baseURL = url;");
+    }
+}
@@ -1,20 +1,13 @@
 
-import org.springframework.data.domain.Pageable;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMethod;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.lang.reflect.Parameter;
-import java.lang.reflect.Type;
+import java.io.Writer;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 
 public class AxiosFileGenerator {
@@ -25,135 +18,435 @@ public class AxiosFileGenerator {
 
     private final TypeScriptInterfaceGenerator typeScriptInterfaceGenerator;
 
+    private final OutputSink outputSink;
+
+    // the names of the generated types, the api files import the ones their functions use
+    private final Set<String> typeNames;
+
+    private FingerprintCache fingerprintCache;
+
+    private Executor executor;
+
+    private ClientEmitter clientEmitter = new AxiosClientEmitter();
+
+    private ResponseCacheConfig responseCacheConfig;
+
+    private ResponseCacheConfig.Invalidations invalidations;
+
+    private boolean streaming;
+
+    private final List<String> generatedFiles = new ArrayList<>();
+
+    private List<HandlerDescriptor> handlerDescriptors;
+
+    private List<ApiSchema.Endpoint> endpoints;
+
     public AxiosFileGenerator(RequestMappingHandlerMapping handlerMapping, TypeScriptInterfaceGenerator typeScriptInterfaceGenerator) {
         this.handlerMapping = handlerMapping;
         this.typeScriptInterfaceGenerator = typeScriptInterfaceGenerator;
+        this.outputSink = typeScriptInterfaceGenerator.getOutputSink();
+        this.typeNames = typeScriptInterfaceGenerator.getGeneratedInterfaces();
+    }
 
-        addDefaultFunction("export const setDefaultHeader = (header: string, value: string) => axios.defaults.headers.common[header] = value;");
-        addDefaultFunction("export const setBaseUrl = (url: string) => axios.defaults.baseURL = url;");
+    // renders the endpoints of a saved schema, the application classes are not needed
+    public AxiosFileGenerator(List<ApiSchema.Endpoint> endpoints, Set<String> typeNames, OutputSink outputSink) {
+        this.handlerMapping = null;
+        this.typeScriptInterfaceGenerator = null;
+        this.endpoints = List.copyOf(endpoints);
+        this.typeNames = typeNames;
+        this.outputSink = outputSink;
     }
 
+    public void setClientEmitter(ClientEmitter clientEmitter) {
+        this.clientEmitter = clientEmitter;
+    }
+
+    public void setResponseCacheConfig(ResponseCacheConfig responseCacheConfig) {
+        this.responseCacheConfig = responseCacheConfig;
+    }
+
+    // written after the default functions of the client emitter
     public List<String> getDefaultFunctions() {
-        return defaultFunctions;
+        return Collections.unmodifiableList(defaultFunctions);
     }
 
     public void addDefaultFunction(String function) {
         defaultFunctions.add(function);
     }
 
-    public void generateAxiosFile(String outputPath) {
-        StringBuilder content = new StringBuilder();
+    public void setFingerprintCache(FingerprintCache fingerprintCache) {
+        this.fingerprintCache = fingerprintCache;
+    }
 
-        // Generate Axios functions and append to the content
-        handlerMapping.getHandlerMethods().forEach((key, value) -> {
-            String url = key.getPatternValues().toString().replace("[", "").replace("]", "");
-            String methodName = value.getMethod().getName();
-            Set<RequestMethod> httpMethods = key.getMethodsCondition().getMethods();
-            String httpMethod = httpMethods.isEmpty() ? "GET" : httpMethods.iterator().next().name();
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
 
-            Parameter[] parameters = value.getMethod().getParameters();
+    // renders every function twice, once for the imports and once straight into the file, instead of holding all of them
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
 
-            // Generate the Axios function
-            String axiosFunction = generateAxiosFunction(httpMethod, url, methodName, parameters, value.getMethod().getGenericReturnType());
+    public List<String> getGeneratedFiles() {
+        return generatedFiles;
+    }
 
-            // Append the Axios function to the content
-            content.append(axiosFunction).append("\n");
-        });
+    public void generateAxiosFile(String fileName) {
+        generatedFiles.add(fileName);
 
-        // Generate import statements and insert at the beginning of the content
-        typeScriptInterfaceGenerator.getGeneratedInterfaces().forEach((key) -> {
-            String importStatement = "import type { " + key + " } from './" + key + "';";
-            content.insert(0, importStatement + "\n");
-        });
+        if (isUnchanged(fileName)) {
+            recordRuntime(getDirectory(fileName));
+            return;
+        }
 
-        content.insert(0, "import axios from 'axios';\n");
+        try (Writer writer = outputSink.openWriter(fileName)) {
+            writeFunctions(writer, getEndpoints(), getInterfacePath(getDirectory(fileName)));
+            writeDefaultFunctions(writer);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        writeRuntime(getDirectory(fileName));
+    }
+
+    // one module per controller that only imports the types it references, tied together by an index.ts barrel
+    public void generateAxiosModules(String directory) {
+        final String indexFileName = directory + "index.ts";
+        if (isUnchanged(indexFileName)) {
+            getEndpoints().stream()
+                    .map(endpoint -> directory + endpoint.controller() + ".ts")
+                    .distinct()
+                    .forEach(generatedFiles::add);
+            generatedFiles.add(indexFileName);
+            recordRuntime(directory);
+            return;
+        }
+
+        final Map<String, List<ApiSchema.Endpoint>> endpointsPerController = new TreeMap<>();
+        for (ApiSchema.Endpoint endpoint : getEndpoints()) {
+            endpointsPerController.computeIfAbsent(endpoint.controller(), controller -> new ArrayList<>()).add(endpoint);
+        }
+
+        final String interfacePath = getInterfacePath(directory);
+
+        endpointsPerController.forEach((controller, endpoints) -> {
+            final String fileName = directory + controller + ".ts";
+            generatedFiles.add(fileName);
 
-        defaultFunctions.forEach((defaultFunction) -> {
-            content.append(defaultFunction).append("\n");
+            try (Writer writer = outputSink.openWriter(fileName)) {
+                writeFunctions(writer, endpoints, interfacePath);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
         });
 
-        // Write the content to the output file
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputPath))) {
-            writer.write(content.toString());
+        generatedFiles.add(indexFileName);
+
+        try (Writer writer = outputSink.openWriter(indexFileName)) {
+            writer.write(clientEmitter.renderImports());
+
+            for (String controller : endpointsPerController.keySet()) {
+                writer.write("export * from './" + controller + "';\n");
+            }
+
+            writeDefaultFunctions(writer);
         } catch (IOException e) {
-            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+
+        writeRuntime(directory);
+    }
+
+    private static String getDirectory(String fileName) {
+        return fileName.substring(0, fileName.lastIndexOf('/') + 1);
+    }
+
+    // the interfaces live in the root of the output, the api files may be nested below it
+    private static String getInterfacePath(String directory) {
+        final int depth = (int) directory.chars().filter(character -> character == '/').count();
+        return depth == 0 ? "./" : "../".repeat(depth);
+    }
+
+    // the imports are only known once every function is rendered, so the file can be written front to back. In a stable
+    // order, so parallel runs produce the same file
+    private void writeFunctions(Writer writer, List<ApiSchema.Endpoint> endpoints, String interfacePath) throws IOException {
+        // indexed before the functions are rendered in parallel
+        if (responseCacheConfig != null && invalidations == null) invalidations = responseCacheConfig.indexInvalidations(getEndpoints());
+        final Map<String, String> runtimeNamespaces = getRuntimeNamespaces(endpoints);
+        final List<AxiosFunction> axiosFunctions = streaming ? null : generateAxiosFunctions(endpoints, runtimeNamespaces);
+
+        // only the types and runtime modules the functions of the file use
+        final Set<String> importedTypes = new TreeSet<>();
+        final Set<String> runtimeModules = new TreeSet<>();
+        for (int i = 0; i < endpoints.size(); i++) {
+            final AxiosFunction axiosFunction = streaming ? generateAxiosFunction(endpoints.get(i), runtimeNamespaces) : axiosFunctions.get(i);
+            importedTypes.addAll(axiosFunction.importedTypes());
+            runtimeModules.addAll(axiosFunction.runtimeModules());
+        }
+
+        writer.write(clientEmitter.renderImports());
+
+        for (String runtimeModule : runtimeModules) {
+            writer.write("import * as " + runtimeNamespaces.get(runtimeModule) + " from './" + runtimeModule + "';\n");
         }
+
+        for (String key : importedTypes) {
+            writer.write("import type { " + key + " } from '" + interfacePath + key + "';\n");
+        }
+
+        for (int i = 0; i < endpoints.size(); i++) {
+            writer.write(streaming ? generateAxiosFunction(endpoints.get(i), runtimeNamespaces).source() : axiosFunctions.get(i).source());
+            writer.write("\n");
+        }
+    }
+
+    private boolean hasCachedEndpoints() {
+        return responseCacheConfig != null && getEndpoints().stream().anyMatch(endpoint -> responseCacheConfig.getPolicy(endpoint) != null);
     }
 
+    private void writeDefaultFunctions(Writer writer) throws IOException {
+        for (String defaultFunction : clientEmitter.getDefaultFunctions()) {
+            writer.write(defaultFunction);
+            writer.write("\n");
+        }
+
+        if (hasCachedEndpoints())
+            writer.write("export { invalidate, invalidateAll } from './" + ResponseCacheConfig.RUNTIME_MODULE + "';\n");
 
-    private String generateAxiosFunction(String httpMethod, String url, String methodName, Parameter[] parameters, Type returnType) {
-        // Parse the URL to find path variables
-        List<String> pathVariables = new ArrayList<>();
-        Matcher matcher = Pattern.compile("\\{(.*?)}").matcher(url);
-        while (matcher.find()) {
-            pathVariables.add(matcher.group(1));
+        for (String defaultFunction : defaultFunctions) {
+            writer.write(defaultFunction);
+            writer.write("\n");
         }
+    }
+
+    private boolean usesStreamingRuntime() {
+        return getEndpoints().stream().anyMatch(endpoint -> endpoint.isStreaming() || isPaginated(endpoint));
+    }
+
+    private static boolean isPaginated(ApiSchema.Endpoint endpoint) {
+        return (endpoint.responseKind() == ResponseKind.PAGE || endpoint.responseKind() == ResponseKind.SLICE) && endpoint.getParameter(ParameterRole.PAGEABLE).isPresent();
+    }
+
+    // the runtime modules the api files need, by module name
+    private Map<String, String> getRuntimeModules() {
+        final Map<String, String> runtimeModules = new TreeMap<>();
+        if (clientEmitter.renderRuntime() != null) runtimeModules.put(ClientEmitter.RUNTIME_MODULE, clientEmitter.renderRuntime());
+        if (hasCachedEndpoints()) runtimeModules.put(ResponseCacheConfig.RUNTIME_MODULE, responseCacheConfig.renderRuntime());
+        if (usesStreamingRuntime()) runtimeModules.put(StreamingRuntime.RUNTIME_MODULE, StreamingRuntime.renderRuntime());
+
+        return runtimeModules;
+    }
+
+    // the runtime sits next to the api files so they can import it from './'
+    private void writeRuntime(String directory) {
+        getRuntimeModules().forEach((module, runtime) -> {
+            generatedFiles.add(directory + module + ".ts");
+            outputSink.write(directory + module + ".ts", runtime);
+        });
+    }
 
-        // Add path variables as arguments to the Axios function
-        String args = pathVariables.stream()
-                .map(var -> var + ": " + typeScriptInterfaceGenerator.javaTypeToTsType(Arrays.stream(parameters)
-                        .filter(p ->  {
-                            PathVariable pathVariable = p.getAnnotation(PathVariable.class);
-                            if (pathVariable == null) return false;
+    private void recordRuntime(String directory) {
+        getRuntimeModules().keySet().forEach(module -> generatedFiles.add(directory + module + ".ts"));
+    }
 
-                            return p.getName().equals(var) || pathVariable.value().equals(var) || pathVariable.name().equals(var);
-                        })
-                        .findFirst()
-                        .orElseThrow(IllegalArgumentException::new)
-                        .getType()).getTsType())
-                .collect(Collectors.joining(", "));
+    // parsed once and shared by every file this generator writes, empty when rendering a saved schema
+    public List<HandlerDescriptor> getHandlerDescriptors() {
+        if (handlerDescriptors == null) handlerDescriptors = handlerMapping == null ? List.of() : HandlerDescriptor.describe(handlerMapping);
+        return handlerDescriptors;
+    }
 
-        // Add request body as an argument to the Axios function
-        String requestBodyArg = Arrays.stream(parameters)
-                .filter(p -> p.getAnnotation(RequestBody.class) != null)
-                .map(p -> p.getName() + ": " + typeScriptInterfaceGenerator.javaTypeToTsType(p.getParameterizedType()).getTsType())
-                .findFirst()
-                .orElse("");
+    // the endpoints with their TypeScript types, what the functions are rendered from
+    public List<ApiSchema.Endpoint> getEndpoints() {
+        if (endpoints == null) endpoints = getHandlerDescriptors().stream().map(descriptor -> ApiSchema.Endpoint.of(descriptor, typeScriptInterfaceGenerator)).toList();
+        return endpoints;
+    }
 
-        // Check if there is a Pageable parameter
-        Optional<Parameter> pageableParam = Arrays.stream(parameters)
-                .filter(p -> Pageable.class.isAssignableFrom(p.getType()))
-                .findFirst();
+    // the runtime modules are imported as namespaces named after the module, prefixed with underscores while a function, type
+    // or argument of the file already has that name
+    private Map<String, String> getRuntimeNamespaces(List<ApiSchema.Endpoint> endpoints) {
+        final Set<String> takenNames = new HashSet<>(typeNames);
+        takenNames.addAll(List.of("pageable", "nextPage"));
+        for (ApiSchema.Endpoint endpoint : endpoints) {
+            takenNames.add(endpoint.method());
+            takenNames.add(getIteratorName(endpoint));
+            endpoint.parameters().forEach(parameter -> takenNames.add(parameter.name()));
+        }
+
+        final Map<String, String> runtimeNamespaces = new HashMap<>();
+        for (String module : List.of(ClientEmitter.RUNTIME_MODULE, ResponseCacheConfig.RUNTIME_MODULE, StreamingRuntime.RUNTIME_MODULE)) {
+            final StringBuilder namespace = new StringBuilder();
+            for (String part : module.split("-")) {
+                namespace.append(namespace.isEmpty() ? part : Character.toUpperCase(part.charAt(0)) + part.substring(1));
+            }
+            while (takenNames.contains(namespace.toString())) namespace.insert(0, '_');
+            runtimeNamespaces.put(module, namespace.toString());
+        }
+        return runtimeNamespaces;
+    }
+
+    private static String getIteratorName(ApiSchema.Endpoint endpoint) {
+        return "iterate" + Character.toUpperCase(endpoint.method().charAt(0)) + endpoint.method().substring(1);
+    }
+
+    private List<AxiosFunction> generateAxiosFunctions(List<ApiSchema.Endpoint> endpoints, Map<String, String> runtimeNamespaces) {
+        final AxiosFunction[] axiosFunctions = new AxiosFunction[endpoints.size()];
+
+        if (executor == null) {
+            for (int i = 0; i < axiosFunctions.length; i++) {
+                axiosFunctions[i] = generateAxiosFunction(endpoints.get(i), runtimeNamespaces);
+            }
+        } else {
+            CompletableFuture.allOf(IntStream.range(0, axiosFunctions.length)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> axiosFunctions[i] = generateAxiosFunction(endpoints.get(i), runtimeNamespaces), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        }
+
+        return Arrays.asList(axiosFunctions);
+    }
+
+    private boolean isUnchanged(String fileName) {
+        if (fingerprintCache == null || handlerMapping == null) return false;
+
+        final StringBuilder structure = new StringBuilder();
+        handlerMapping.getHandlerMethods().entrySet().stream()
+                .map(entry -> fingerprintCache.fingerprint(entry.getKey(), entry.getValue().getMethod()))
+                .sorted()
+                .forEach(fingerprint -> structure.append(fingerprint).append('\n'));
+
+        // the imports and default functions end up in the file as well, and the TypeScript types of the endpoints in case a
+        // type they refer to was renamed
+        new TreeSet<>(typeNames).forEach(name -> structure.append(name).append('\n'));
+        getEndpoints().forEach(endpoint -> structure.append(endpoint).append('\n'));
+        defaultFunctions.forEach(function -> structure.append(function).append('\n'));
+        structure.append(clientEmitter.getClass().getName()).append('\n');
+        structure.append(clientEmitter.renderImports()).append(clientEmitter.getDefaultFunctions()).append('\n');
+        structure.append(responseCacheConfig).append('\n');
+        getRuntimeModules().forEach((module, runtime) -> structure.append(module).append('\n').append(runtime).append('\n'));
+
+        return fingerprintCache.isUnchanged(fileName, fingerprintCache.hash(structure)) && outputSink.exists(fileName);
+    }
+
+
+    private AxiosFunction generateAxiosFunction(ApiSchema.Endpoint endpoint, Map<String, String> runtimeNamespaces) {
+        final Set<String> importedTypes = new TreeSet<>();
+        final Set<String> runtimeModules = new TreeSet<>();
+        final String client = runtimeNamespaces.get(ClientEmitter.RUNTIME_MODULE);
+        final String cache = runtimeNamespaces.get(ResponseCacheConfig.RUNTIME_MODULE);
+        final String stream = runtimeNamespaces.get(StreamingRuntime.RUNTIME_MODULE);
+        final StringBuilder args = new StringBuilder();
+        final List<String> argumentNames = new ArrayList<>();
+        final StringBuilder url = new StringBuilder();
+
+        // Path variables become arguments and template literals in the URL
+        for (ApiSchema.Parameter pathVariable : endpoint.getParameters(ParameterRole.PATH_VARIABLE)) {
+            appendArgument(args, pathVariable.name()).append(": ").append(importType(pathVariable.type(), importedTypes));
+            argumentNames.add(pathVariable.name());
+        }
+
+        for (HandlerDescriptor.UrlSegment segment : endpoint.urlSegments()) {
+            if (segment.pathVariable()) url.append("${").append(segment.value()).append('}');
+            else url.append(segment.value());
+        }
 
         // If there is a Pageable parameter, add it to the args and append it to the URL as query parameters
-        if (pageableParam.isPresent()) {
-            if (!args.isEmpty())
-                args += ", ";
-            args += "pageable: { page: number, size: number, sort: string }";
-            url += "?page={pageable.page}&size={pageable.size}&sort={pageable.sort}";
+        final boolean pageable = endpoint.getParameter(ParameterRole.PAGEABLE).isPresent();
+        if (pageable) {
+            appendArgument(args, "pageable: { page: number, size: number, sort: string }");
+            argumentNames.add("pageable");
+            url.append("?page=${pageable.page}&size=${pageable.size}&sort=${pageable.sort}");
         }
 
-        // Check if there are @RequestParam parameters
-        List<Parameter> requestParamParams = Arrays.stream(parameters)
-                .filter(p -> p.getAnnotation(RequestParam.class) != null)
-                .toList();
+        // @RequestParam parameters are appended to the URL as query parameters
+        boolean hasQuery = pageable;
+        for (ApiSchema.Parameter requestParam : endpoint.getParameters(ParameterRole.REQUEST_PARAM)) {
+            appendArgument(args, requestParam.name()).append(": string");
+            argumentNames.add(requestParam.name());
+            url.append(hasQuery ? '&' : '?').append(requestParam.name()).append("=${").append(requestParam.name()).append('}');
+            hasQuery = true;
+        }
 
-        // If there are @RequestParam parameters, add them to the args and append them to the URL as query parameters
-        for (Parameter param : requestParamParams) {
-            RequestParam requestParam = param.getAnnotation(RequestParam.class);
-            String paramName = requestParam.value().isEmpty() ? param.getName() : requestParam.value();
-            // only add the comma if there are already arguments
-            if (!args.isEmpty())
-                args += ", ";
+        // The request body is always the last argument
+        final Optional<ApiSchema.Parameter> requestBody = endpoint.getParameter(ParameterRole.REQUEST_BODY);
+        requestBody.ifPresent(body -> {
+            appendArgument(args, body.name()).append(": ").append(importType(body.type(), importedTypes));
+            argumentNames.add(body.name());
+        });
+        final String requestBodyName = requestBody.map(ApiSchema.Parameter::name).orElse(null);
+
+        // Streams are read incrementally through an async iterator instead of being buffered as a single body
+        if (endpoint.isStreaming()) {
+            final String streamRequest = clientEmitter.renderStreamRequest(endpoint, client, "`" + url + "`", requestBodyName);
+            if (clientEmitter.renderRuntime() != null) runtimeModules.add(ClientEmitter.RUNTIME_MODULE);
+            runtimeModules.add(StreamingRuntime.RUNTIME_MODULE);
+
+            final String source = switch (endpoint.responseKind()) {
+                case EVENT_STREAM, JSON_LINES -> {
+                    final String reader = endpoint.responseKind() == ResponseKind.EVENT_STREAM ? "readEvents" : "readJsonLines";
+                    final String elementType = importType(endpoint.responseType(), importedTypes);
+
+                    yield "export const " + endpoint.method() + " = (" + args + "): AsyncGenerator<" + elementType + "> => "
+                            + stream + "." + reader + "<" + elementType + ">(" + streamRequest + ");";
+                }
+                default -> "export const " + endpoint.method() + " = (" + args + "): AsyncGenerator<Uint8Array> => "
+                        + stream + ".readChunks(" + streamRequest + ");";
+            };
+
+            return new AxiosFunction(source, importedTypes, runtimeModules);
+        }
 
-            args +=  paramName + ": string";
-            url += (url.contains("?") ? "&" : "?") + paramName + "={" + paramName + "}";
+        // Get the TypeScript type for the body the endpoint responds with
+        final String returnTypeTs = importType(endpoint.responseType(), importedTypes);
+
+        String request = clientEmitter.renderRequest(endpoint, client, "`" + url + "`", requestBodyName, returnTypeTs);
+        if (clientEmitter.renderRuntime() != null) runtimeModules.add(ClientEmitter.RUNTIME_MODULE);
+
+        // memoize cacheable responses and drop them again once a mutating endpoint on the same path or cache completes
+        if (responseCacheConfig != null) {
+            final CachePolicy cachePolicy = responseCacheConfig.getPolicy(endpoint);
+
+            if (cachePolicy != null) {
+                runtimeModules.add(ResponseCacheConfig.RUNTIME_MODULE);
+                request = cache + ".cached('" + endpoint.name() + "', `" + url + "`, " + cachePolicy.ttl().toMillis() + ", "
+                        + cachePolicy.maxEntries() + ", () => " + request + ")";
+            } else {
+                final Set<String> invalidatedEndpoints = invalidations.getInvalidatedEndpoints(endpoint);
+                if (!invalidatedEndpoints.isEmpty()) {
+                    runtimeModules.add(ResponseCacheConfig.RUNTIME_MODULE);
+                    request = cache + ".invalidating(['" + String.join("', '", invalidatedEndpoints) + "'], " + request + ")";
+                }
+            }
         }
 
-        if (!requestBodyArg.isEmpty()) {
-            args = args.isEmpty() ? requestBodyArg : args + ", " + requestBodyArg;
+        final StringBuilder source = new StringBuilder("export const ").append(endpoint.method()).append(" = (").append(args)
+                .append("): Promise<").append(returnTypeTs).append("> => ").append(request).append(";");
+
+        // pages are fetched lazily, one after the other, while their elements are consumed
+        if (isPaginated(endpoint)) {
+            final String elementTypeTs = importType(endpoint.elementType(), importedTypes);
+            final String iteratorArgs = args.toString().replace("pageable: { page: number, size: number, sort: string }", "pageable: { size: number, sort: string }");
+            final String callArgs = argumentNames.stream().map(name -> name.equals("pageable") ? "{ ...pageable, page: nextPage }" : name).collect(Collectors.joining(", "));
+            runtimeModules.add(StreamingRuntime.RUNTIME_MODULE);
+
+            source.append("\nexport const ").append(getIteratorName(endpoint))
+                    .append(" = (").append(iteratorArgs).append("): AsyncGenerator<").append(elementTypeTs).append("> => ")
+                    .append(stream).append(".paginate(nextPage => ")
+                    .append(endpoint.method()).append("(").append(callArgs).append("));");
         }
 
-        // Replace path variables in the URL with JavaScript template literals
-        String jsUrl = url.replaceAll("\\{(.*?)}", "\\${$1}");
+        return new AxiosFunction(source.toString(), importedTypes, runtimeModules);
+    }
 
-        String requestBodyName = requestBodyArg.split(":")[0]; // Extract the name of the request body
-        if (!requestBodyName.isEmpty())
-            requestBodyName = requestBodyName.transform(name -> ", " + name);
+    private static StringBuilder appendArgument(StringBuilder args, String argument) {
+        // only add the comma if there are already arguments
+        if (!args.isEmpty()) args.append(", ");
+        return args.append(argument);
+    }
 
-        // Get the TypeScript type for the return type of the endpoint method
-        String returnTypeTs = typeScriptInterfaceGenerator.javaTypeToTsType(returnType).getTsType();
+    private String importType(String tsType, Set<String> importedTypes) {
+        ApiSchema.collectTypeNames(tsType, typeNames, importedTypes);
+        return tsType;
+    }
 
-        return "export const " + methodName + " = (" + args + "): Promise<" + returnTypeTs + "> => axios." + httpMethod.toLowerCase() + "(`" + jsUrl + "`" + requestBodyName + ").then(response => response.data).catch(error => { throw error });";
+    private record AxiosFunction(String source, Set<String> importedTypes, Set<String> runtimeModules) {
     }
 }
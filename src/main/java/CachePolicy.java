@@ -0,0 +1,10 @@
+import java.time.Duration;
+
+// how long and how many responses of a single endpoint the generated client keeps
+public record CachePolicy(Duration ttl, int maxEntries) {
+
+    public CachePolicy {
+        if (ttl.isNegative() || ttl.isZero()) throw new IllegalArgumentException("The ttl of a cache policy must be positive");
+        if (maxEntries < 1) throw new IllegalArgumentException("A cache policy must keep at least one entry");
+    }
+}
@@ -0,0 +1,30 @@
+import java.util.List;
+
+// Renders the client side of the generated api files, the function signatures and imports of the
+// interfaces are shared by every emitter
+public interface ClientEmitter {
+    // shared runtime module next to the api files, without the .ts extension
+    String RUNTIME_MODULE = "spring2ts-client";
+
+    // first lines of every api file and the index.ts barrel, only what all of them use
+    String renderImports();
+
+    // an expression of type Promise<returnType>, url is a template literal and requestBody the argument name or null. The
+    // exports of RUNTIME_MODULE are reached through the runtime namespace, so they never clash with the generated functions
+    String renderRequest(ApiSchema.Endpoint endpoint, String runtime, String url, String requestBody, String returnType);
+
+    // an expression of type Promise<Response> for endpoints that are read as a stream, fetch is the only client that streams in every browser
+    default String renderStreamRequest(ApiSchema.Endpoint endpoint, String runtime, String url, String requestBody) {
+        return "fetch(" + url + ", { method: '" + endpoint.httpMethod() + "'" + (requestBody == null ? ""
+                : ", headers: { 'Content-Type': 'application/json' }, body: JSON.stringify(" + requestBody + ")") + " })";
+    }
+
+    // exported once from api.ts or the index.ts barrel
+    List<String> getDefaultFunctions();
+
+    // written to RUNTIME_MODULE.ts, null when the client library already holds the shared state. Every api file with a
+    // request imports it then
+    default String renderRuntime() {
+        return null;
+    }
+}
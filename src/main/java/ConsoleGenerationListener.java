@@ -0,0 +1,18 @@
+// The lines a run prints, every module has one until its console output is disabled
+public class ConsoleGenerationListener implements GenerationListener {
+
+    @Override
+    public void onMessage(String message) {
+        System.out.println(message);
+    }
+
+    @Override
+    public void onGenerationCompleted(GenerationSummary summary) {
+        if (summary.getSerializersWritten() > 0)
+            System.out.println("Spring2TS wrote " + summary.getSerializersWritten() + " Jackson serializer sources");
+        if (summary.getCacheReleases() > 0)
+            System.out.println("Spring2TS released its caches " + summary.getCacheReleases() + " times, the retained heap exceeded the cache release threshold");
+
+        System.out.println("Spring2TS wrote " + summary.getFilesWritten() + " files, skipped " + summary.getFilesSkipped() + " unchanged files");
+    }
+}
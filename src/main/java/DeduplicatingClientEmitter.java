@@ -0,0 +1,76 @@
+import java.time.Duration;
+
+// fetch client where identical GET requests share the response of the one already in flight, optionally
+// collecting the GET requests of a short window into a single POST to a batch endpoint
+public class DeduplicatingClientEmitter extends FetchClientEmitter {
+    private String batchUrl;
+    private Duration batchWindow;
+    private int maxBatchSize;
+
+    // the batch endpoint receives [{ method, url }] and answers [{ status, body }] in the same order
+    public void enableBatching(String batchUrl, Duration batchWindow, int maxBatchSize) {
+        if (maxBatchSize < 2) throw new IllegalArgumentException("A batch needs at least two requests");
+
+        this.batchUrl = batchUrl;
+        this.batchWindow = batchWindow;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public String renderRequest(ApiSchema.Endpoint endpoint, String runtime, String url, String requestBody, String returnType) {
+        if (!endpoint.httpMethod().equals("GET")) return super.renderRequest(endpoint, runtime, url, requestBody, returnType);
+
+        return runtime + ".get<" + returnType + ">(" + url + ")";
+    }
+
+    @Override
+    public String renderRuntime() {
+        return super.renderRuntime() + "\n" + (batchUrl == null ? """
+                const load = <T>(url: string): Promise<T> => request<T>('GET', url);
+                """ : """
+                const BATCH_URL = '%s';
+                const BATCH_WINDOW = %d;
+                const MAX_BATCH_SIZE = %d;
+
+                let queue: { url: string, resolve: (value: any) => void, reject: (reason: unknown) => void }[] = [];
+                let timer: ReturnType<typeof setTimeout> | undefined;
+
+                const flush = () => {
+                \tclearTimeout(timer);
+                \ttimer = undefined;
+                \tconst batch = queue;
+                \tqueue = [];
+
+                \tif (batch.length === 1) {
+                \t\trequest('GET', batch[0].url).then(batch[0].resolve, batch[0].reject);
+                \t\treturn;
+                \t}
+
+                \trequest<{ status: number, body: unknown }[]>('POST', BATCH_URL, batch.map(entry => ({ method: 'GET', url: entry.url })))
+                \t\t.then(responses => batch.forEach((entry, i) => responses[i].status < 400
+                \t\t\t? entry.resolve(responses[i].body)
+                \t\t\t: entry.reject(new Error(`GET ${entry.url} failed with status ${responses[i].status}`))))
+                \t\t.catch(error => batch.forEach(entry => entry.reject(error)));
+                };
+
+                const load = <T>(url: string): Promise<T> => new Promise<T>((resolve, reject) => {
+                \tqueue.push({ url, resolve, reject });
+                \tif (queue.length >= MAX_BATCH_SIZE) flush();
+                \telse if (timer === undefined) timer = setTimeout(flush, BATCH_WINDOW);
+                });
+                """.formatted(batchUrl, batchWindow.toMillis(), maxBatchSize)) + """
+
+                const inFlight = new Map<string, Promise<unknown>>();
+
+                // identical GET requests share the one that is already in flight
+                export const get = <T>(url: string): Promise<T> => {
+                \tconst pending = inFlight.get(url);
+                \tif (pending) return pending as Promise<T>;
+
+                \tconst result = load<T>(url).finally(() => inFlight.delete(url));
+                \tinFlight.set(url, result);
+                \treturn result;
+                };
+                """;
+    }
+}
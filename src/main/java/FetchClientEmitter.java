@@ -0,0 +1,50 @@
+import java.util.List;
+
+// Zero dependency client on top of fetch, the base url and headers live in the shared runtime module
+public class FetchClientEmitter implements ClientEmitter {
+
+    // the runtime module is imported by the files that send requests
+    @Override
+    public String renderImports() {
+        return "";
+    }
+
+    @Override
+    public String renderRequest(ApiSchema.Endpoint endpoint, String runtime, String url, String requestBody, String returnType) {
+        return runtime + ".request<" + returnType + ">('" + endpoint.httpMethod() + "', " + url + (requestBody == null ? "" : ", " + requestBody) + ")";
+    }
+
+    @Override
+    public String renderStreamRequest(ApiSchema.Endpoint endpoint, String runtime, String url, String requestBody) {
+        return runtime + ".open('" + endpoint.httpMethod() + "', " + url + (requestBody == null ? "" : ", " + requestBody) + ")";
+    }
+
+    @Override
+    public List<String> getDefaultFunctions() {
+        return List.of("export { setDefaultHeader, setBaseUrl } from './" + RUNTIME_MODULE + "';");
+    }
+
+    @Override
+    public String renderRuntime() {
+        return """
+                let baseUrl = '';
+                const defaultHeaders: Record<string, string> = {};
+
+                export const setDefaultHeader = (header: string, value: string) => defaultHeaders[header] = value;
+                export const setBaseUrl = (url: string) => baseUrl = url;
+
+                export const open = (method: string, url: string, body?: unknown): Promise<Response> => fetch(baseUrl + url, {
+                \tmethod,
+                \theaders: body === undefined ? defaultHeaders : { ...defaultHeaders, 'Content-Type': 'application/json' },
+                \tbody: body === undefined ? undefined : JSON.stringify(body),
+                });
+
+                export const request = <T>(method: string, url: string, body?: unknown): Promise<T> => open(method, url, body).then(async response => {
+                \tif (!response.ok) throw new Error(`${method} ${url} failed with status ${response.status}`);
+
+                \tconst text = await response.text();
+                \treturn (text ? JSON.parse(text) : undefined) as T;
+                });
+                """;
+    }
+}
@@ -0,0 +1,185 @@
+import java.io.BufferedOutputStream;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+public class FileSystemOutputSink implements OutputSink {
+    private final Path directory;
+    private final Map<String, String> pendingFiles = new ConcurrentHashMap<>();
+    // what was written through since the last flush
+    private final Queue<String> writtenFiles = new ConcurrentLinkedQueue<>();
+    private final LongAdder writtenBytes = new LongAdder();
+    private volatile boolean writeThrough;
+
+    public FileSystemOutputSink(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // every file is written as soon as it is rendered instead of on flush(), so the output is never held in memory as a whole
+    public void setWriteThrough(boolean writeThrough) {
+        this.writeThrough = writeThrough;
+    }
+
+    @Override
+    public void write(String path, String content) {
+        if (!writeThrough) {
+            pendingFiles.put(path, content);
+            return;
+        }
+
+        try {
+            final Path target = directory.resolve(path);
+            Files.createDirectories(target.getParent());
+            final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+
+            if (Files.exists(target) && Arrays.equals(hash(target), hash(bytes))) return;
+
+            writeAtomically(target, bytes);
+            writtenFiles.add(path);
+            writtenBytes.add(bytes.length);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // streams into a temporary file that replaces the target on close, unless the content turned out to be the same
+    @Override
+    public Writer openWriter(String path) {
+        if (!writeThrough) return OutputSink.super.openWriter(path);
+
+        final Path target = directory.resolve(path);
+        final Path temporaryFile = getTemporaryFile(target);
+        final MessageDigest digest = newDigest();
+        try {
+            Files.createDirectories(target.getParent());
+            final Writer writer = new OutputStreamWriter(new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)), digest), StandardCharsets.UTF_8);
+
+            return new FilterWriter(writer) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                        if (Files.exists(target) && Arrays.equals(hash(target), digest.digest())) return;
+
+                        final long size = Files.size(temporaryFile);
+                        move(temporaryFile, target);
+                        writtenFiles.add(path);
+                        writtenBytes.add(size);
+                    } finally {
+                        Files.deleteIfExists(temporaryFile);
+                    }
+                }
+            };
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return Files.exists(directory.resolve(path));
+    }
+
+    @Override
+    public FlushResult flush() {
+        final Map<String, String> files = new TreeMap<>(pendingFiles);
+        pendingFiles.clear();
+
+        final List<String> changedFiles = new ArrayList<>();
+        long writtenBytes = this.writtenBytes.sumThenReset();
+        for (String path = writtenFiles.poll(); path != null; path = writtenFiles.poll()) {
+            changedFiles.add(path);
+        }
+        try {
+            final Set<Path> directories = new HashSet<>();
+            for (String path : files.keySet()) {
+                directories.add(directory.resolve(path).getParent());
+            }
+            for (Path parent : directories) {
+                Files.createDirectories(parent);
+            }
+
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                final Path target = directory.resolve(file.getKey());
+                final byte[] content = file.getValue().getBytes(StandardCharsets.UTF_8);
+
+                if (Files.exists(target) && Arrays.equals(hash(target), hash(content))) continue;
+
+                writeAtomically(target, content);
+                changedFiles.add(file.getKey());
+                writtenBytes += content.length;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        Collections.sort(changedFiles);
+        return new FlushResult(changedFiles, writtenBytes);
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        final Path temporaryFile = getTemporaryFile(target);
+        try {
+            Files.write(temporaryFile, content);
+            move(temporaryFile, target);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    // created next to the target so the rename stays on the same file store, and named after the thread as well so two
+    // runs in one JVM that write the same file never write into the same temporary file
+    private Path getTemporaryFile(Path target) {
+        return target.resolveSibling("." + target.getFileName() + "." + ProcessHandle.current().pid() + "-" + Thread.currentThread().getId() + ".tmp");
+    }
+
+    private void move(Path temporaryFile, Path target) throws IOException {
+        try {
+            Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private byte[] hash(byte[] content) {
+        return newDigest().digest(content);
+    }
+
+    // read in chunks, a large existing file is never loaded as a whole
+    private byte[] hash(Path file) throws IOException {
+        final MessageDigest digest = newDigest();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            final byte[] buffer = new byte[8192];
+            for (int read = inputStream.read(buffer); read != -1; read = inputStream.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class FingerprintCache {
+    private static final String HEADER = "# spring2ts fingerprint cache v1";
+
+    private final Path cacheFile;
+    private final String salt;
+    private final Map<String, String> previousFingerprints = new HashMap<>();
+    private final Map<String, String> currentFingerprints = new ConcurrentHashMap<>();
+    private final AtomicBoolean readFailed = new AtomicBoolean();
+
+    public FingerprintCache(Path cacheFile, List<String> packagesToScan) {
+        this.cacheFile = cacheFile;
+        // the scanned packages decide which types get imported, so a different set invalidates everything
+        this.salt = String.join(",", packagesToScan);
+        load();
+    }
+
+    private void load() {
+        if (!Files.exists(cacheFile)) return;
+
+        try {
+            final List<String> lines = Files.readAllLines(cacheFile, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !lines.get(0).equals(HEADER)) return;
+
+            for (String line : lines.subList(1, lines.size())) {
+                final int separator = line.lastIndexOf('=');
+                if (separator > 0) previousFingerprints.put(line.substring(0, separator), line.substring(separator + 1));
+            }
+        } catch (IOException e) {
+            readFailed.set(true);
+            previousFingerprints.clear();
+        }
+    }
+
+    // the file is read before any listener is registered, so the first run is told that it could not be
+    public void reportReadFailure(GenerationListener listener) {
+        if (readFailed.compareAndSet(true, false)) listener.onMessage("Could not read fingerprint cache, regenerating everything");
+    }
+
+    public void save() {
+        final StringBuilder content = new StringBuilder(HEADER).append("\n");
+        new TreeMap<>(currentFingerprints).forEach((key, fingerprint) -> content.append(key).append('=').append(fingerprint).append("\n"));
+
+        try {
+            if (cacheFile.getParent() != null) Files.createDirectories(cacheFile.getParent());
+            Files.writeString(cacheFile, content.toString(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // records the fingerprint for this run and returns whether it matches the one of the previous run
+    public boolean isUnchanged(String key, String fingerprint) {
+        currentFingerprints.put(key, fingerprint);
+        return fingerprint.equals(previousFingerprints.get(key));
+    }
+
+    public String fingerprint(Class<?> type) {
+        final StringBuilder structure = new StringBuilder(type.toGenericString()).append('\n');
+        appendAnnotations(structure, type.getAnnotations());
+
+        if (type.isEnum()) {
+            for (Object enumConstant : type.getEnumConstants()) {
+                structure.append(enumConstant).append('\n');
+            }
+        }
+
+        // the members of the union a sealed type is rendered as
+        if (type.isSealed()) {
+            for (Class<?> permittedSubclass : type.getPermittedSubclasses()) {
+                structure.append(permittedSubclass.getName()).append('\n');
+            }
+        }
+
+        for (Field field : type.getDeclaredFields()) {
+            appendAnnotations(structure, field.getAnnotations());
+            structure.append(field.toGenericString()).append('\n');
+        }
+
+        return hash(structure);
+    }
+
+    // the file also depends on the names and type parameters of the types it refers to, e.g. a field whose type is
+    // namespaced because another class took its simple name, so the resolved definition is part of the fingerprint
+    public String fingerprint(Class<?> type, ApiSchema.TypeDefinition definition, Set<String> importedTypes) {
+        return hash(fingerprint(type) + '\n' + definition + '\n' + importedTypes);
+    }
+
+    public String fingerprint(Object mapping, Method method) {
+        final StringBuilder structure = new StringBuilder(mapping.toString()).append('\n');
+        structure.append(method.toGenericString()).append('\n');
+        appendAnnotations(structure, method.getDeclaringClass().getAnnotations());
+        appendAnnotations(structure, method.getAnnotations());
+
+        Arrays.stream(method.getParameters()).forEach(parameter -> structure.append(parameter.getName()).append(' '));
+        structure.append('\n');
+
+        for (Annotation[] parameterAnnotations : method.getParameterAnnotations()) {
+            appendAnnotations(structure, parameterAnnotations);
+        }
+
+        return hash(structure);
+    }
+
+    private void appendAnnotations(StringBuilder structure, Annotation[] annotations) {
+        Arrays.stream(annotations).map(Annotation::toString).sorted().forEach(annotation -> structure.append(annotation).append('\n'));
+    }
+
+    public String hash(CharSequence structure) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt.getBytes(StandardCharsets.UTF_8));
+            digest.update(structure.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
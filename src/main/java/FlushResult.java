@@ -0,0 +1,20 @@
+import java.util.List;
+
+public class FlushResult {
+    private final List<String> changedFiles;
+    private final long writtenBytes;
+
+    public FlushResult(List<String> changedFiles, long writtenBytes) {
+        this.changedFiles = List.copyOf(changedFiles);
+        this.writtenBytes = writtenBytes;
+    }
+
+    // the paths whose content actually changed
+    public List<String> getChangedFiles() {
+        return changedFiles;
+    }
+
+    public long getWrittenBytes() {
+        return writtenBytes;
+    }
+}
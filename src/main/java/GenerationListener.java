@@ -0,0 +1,19 @@
+import java.time.Duration;
+
+// Receives the timings of a generate() run, e.g. to export them as metrics or traces
+public interface GenerationListener {
+
+    default void onPhaseCompleted(GenerationPhase phase, Duration duration) {
+    }
+
+    // clone, pull, add, commit or push
+    default void onGitStep(String step, Duration duration) {
+    }
+
+    default void onGenerationCompleted(GenerationSummary summary) {
+    }
+
+    // progress and warnings, e.g. a type that is generated under another name or a retried push
+    default void onMessage(String message) {
+    }
+}
@@ -0,0 +1,8 @@
+public enum GenerationPhase {
+    // walking the handler methods and resolving their types
+    TYPE_SCAN,
+    INTERFACE_RENDERING,
+    AXIOS_RENDERING,
+    FILE_IO,
+    GIT
+}
@@ -0,0 +1,86 @@
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class GenerationSummary {
+    private final Map<GenerationPhase, Duration> phaseDurations;
+    private final int typesResolved;
+    private final long resolutionCacheHits;
+    private final int filesWritten;
+    private final int filesSkipped;
+    private final long bytesWritten;
+    private final int serializersWritten;
+    private final int cacheReleases;
+    private final GitPublishStatus gitPublishStatus;
+
+    // the types and cache hits are counted for this run only, serializers are the Jackson serializer sources that changed
+    public GenerationSummary(Map<GenerationPhase, Duration> phaseDurations, int typesResolved, long resolutionCacheHits,
+                             int filesWritten, int filesSkipped, long bytesWritten, int serializersWritten, int cacheReleases,
+                             GitPublishStatus gitPublishStatus) {
+        final Map<GenerationPhase, Duration> durations = new EnumMap<>(GenerationPhase.class);
+        durations.putAll(phaseDurations);
+        this.phaseDurations = Collections.unmodifiableMap(durations);
+        this.typesResolved = typesResolved;
+        this.resolutionCacheHits = resolutionCacheHits;
+        this.filesWritten = filesWritten;
+        this.filesSkipped = filesSkipped;
+        this.bytesWritten = bytesWritten;
+        this.serializersWritten = serializersWritten;
+        this.cacheReleases = cacheReleases;
+        this.gitPublishStatus = gitPublishStatus;
+    }
+
+    public Map<GenerationPhase, Duration> getPhaseDurations() {
+        return phaseDurations;
+    }
+
+    public Duration getPhaseDuration(GenerationPhase phase) {
+        return phaseDurations.getOrDefault(phase, Duration.ZERO);
+    }
+
+    public int getTypesResolved() {
+        return typesResolved;
+    }
+
+    public long getResolutionCacheHits() {
+        return resolutionCacheHits;
+    }
+
+    public int getFilesWritten() {
+        return filesWritten;
+    }
+
+    public int getFilesSkipped() {
+        return filesSkipped;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public int getSerializersWritten() {
+        return serializersWritten;
+    }
+
+    // how often the low memory mode dropped the cached resolutions
+    public int getCacheReleases() {
+        return cacheReleases;
+    }
+
+    public GitPublishStatus getGitPublishStatus() {
+        return gitPublishStatus;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder summary = new StringBuilder("Spring2TS resolved ").append(typesResolved).append(" types (")
+                .append(resolutionCacheHits).append(" cache hits), wrote ").append(filesWritten).append(" files (")
+                .append(bytesWritten).append(" bytes), skipped ").append(filesSkipped).append(" unchanged files, git ")
+                .append(gitPublishStatus);
+
+        phaseDurations.forEach((phase, duration) -> summary.append(", ").append(phase).append(' ').append(duration.toMillis()).append("ms"));
+
+        return summary.toString();
+    }
+}
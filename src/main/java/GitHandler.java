@@ -1,71 +1,246 @@
+
+import org.eclipse.jgit.api.AddCommand;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.Status;
 import org.eclipse.jgit.api.errors.GitAPIException;
-import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.api.errors.TransportException;
+import org.eclipse.jgit.lib.BranchTrackingStatus;
+import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.transport.CredentialsProvider;
 import org.eclipse.jgit.transport.PushResult;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
+// Publishes the generated files on its own executor so a slow remote never blocks the caller
 public class GitHandler {
-    private Git git;
-    private UsernamePasswordCredentialsProvider credentialsProvider;
+    private final String gitUrl;
+    private final File directory;
+    private final CredentialsProvider credentialsProvider;
+    private final ExecutorService executor;
+
+    private Duration timeout = Duration.ofMinutes(2);
+    private int maxAttempts = 3;
+    private Duration initialBackoff = Duration.ofSeconds(1);
 
     public GitHandler(String gitUrl, String username, String password, String directory) {
-        this.credentialsProvider = new UsernamePasswordCredentialsProvider(username, password);
-        File tsDirectory = new File(directory);
-        File gitDirectory = new File(tsDirectory, ".git");
+        this(gitUrl, username, password, directory, Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "spring2ts-git");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
 
-        try {
-            if (gitDirectory.exists()) {
-                System.out.println("Opening existing repository");
-                Repository existingRepo = new FileRepository(gitDirectory);
-                this.git = new Git(existingRepo);
-                this.git.pull().setCredentialsProvider(this.credentialsProvider).call();
-                System.out.println("Repository updated");
-            } else {
-                System.out.println("Initializing repository");
-                this.git = Git.cloneRepository()
-                        .setURI(gitUrl)
-                        .setDirectory(tsDirectory)
-                        .setCredentialsProvider(this.credentialsProvider)
-                        .call();
-                System.out.println("Repository initialized");
+    public GitHandler(String gitUrl, String username, String password, String directory, ExecutorService executor) {
+        this.gitUrl = gitUrl;
+        this.directory = new File(directory);
+        // a local (bare) repository does not need credentials
+        this.credentialsProvider = username == null ? null : new UsernamePasswordCredentialsProvider(username, password);
+        this.executor = executor;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public void setRetries(int maxAttempts, Duration initialBackoff) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+    }
+
+    public CompletableFuture<GitPublishStatus> publish(Supplier<List<String>> writeChanges, String commitMessage) {
+        return publish(writeChanges, commitMessage, new ConsoleGenerationListener());
+    }
+
+    // writeChanges runs once the repository is cloned or pulled, and returns the paths it actually changed. The listener
+    // gets the steps and what would otherwise be printed
+    public CompletableFuture<GitPublishStatus> publish(Supplier<List<String>> writeChanges, String commitMessage, GenerationListener listener) {
+        final Worker worker = new Worker();
+        final CompletableFuture<GitPublishStatus> publish = CompletableFuture.supplyAsync(() -> {
+            try {
+                return publishChanges(worker, writeChanges, commitMessage, listener);
+            } catch (CompletionException e) {
+                if (!worker.hasTimedOut()) throw e;
+                final TimeoutException timeoutException = new TimeoutException("Publishing took longer than " + timeout);
+                timeoutException.initCause(e.getCause());
+                throw new CompletionException(timeoutException);
             }
+        }, executor);
+
+        // unlike orTimeout this stops the task, the future only completes once nothing writes the directory anymore
+        CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+            if (!publish.isDone()) worker.timeOut();
+        });
+        return publish;
+    }
+
+    private GitPublishStatus publishChanges(Worker worker, Supplier<List<String>> writeChanges, String commitMessage, GenerationListener listener) {
+        final Git git;
+        try {
+            git = openRepository(worker, listener);
         } catch (GitAPIException | IOException e) {
-            System.out.println("Error initializing repository, is it a valid URL?");
-            e.printStackTrace();
+            listener.onMessage("Error initializing repository, is it a valid URL?");
+            // the files are still written locally, only publishing them failed
+            writeChanges.get();
+            throw new CompletionException(e);
+        }
+
+        try (git) {
+            return commitAndPush(worker, git, writeChanges.get(), commitMessage, listener);
+        } catch (GitAPIException | IOException e) {
+            listener.onMessage("Error publishing changes");
+            throw new CompletionException(e);
         }
     }
 
-    public void commitChanges(String commitMessage) {
-        try {
-            this.git.commit().setMessage(commitMessage).call();
-            System.out.println("Changes committed");
-        } catch (GitAPIException e) {
-            System.out.println("Error committing changes");
-            e.printStackTrace();
+    private Git openRepository(Worker worker, GenerationListener listener) throws GitAPIException, IOException {
+        if (new File(directory, ".git").exists()) {
+            listener.onMessage("Opening existing repository");
+            final Git git = Git.open(directory);
+            remoteStep("Pull", worker, listener, () -> git.pull().setCredentialsProvider(credentialsProvider).setTimeout(getTimeoutSeconds()).call());
+            listener.onMessage("Repository updated");
+            return git;
         }
+
+        listener.onMessage("Initializing repository");
+        final Git git = remoteStep("Clone", worker, listener, () -> Git.cloneRepository()
+                .setURI(gitUrl)
+                .setDirectory(directory)
+                .setCredentialsProvider(credentialsProvider)
+                .setTimeout(getTimeoutSeconds())
+                .call());
+        listener.onMessage("Repository initialized");
+        return git;
     }
 
-    public void addChanges() {
-        try {
-            this.git.add().addFilepattern(".").call();
-            System.out.println("Changes added");
-        } catch (GitAPIException e) {
-            System.out.println("Error adding changes");
-            e.printStackTrace();
+    private GitPublishStatus commitAndPush(Worker worker, Git git, List<String> changedFiles, String commitMessage, GenerationListener listener) throws GitAPIException, IOException {
+        if (!commit(git, changedFiles, commitMessage, listener)) {
+            // the commit of an earlier run whose push failed is still pushed, even if this run changed nothing
+            if (!isAheadOfRemote(git.getRepository())) {
+                listener.onMessage("No changes to publish");
+                return GitPublishStatus.NO_CHANGES;
+            }
+            listener.onMessage("Pushing unpublished commits of an earlier run");
         }
+
+        final Iterable<PushResult> results = remoteStep("Push", worker, listener, () -> git.push().setCredentialsProvider(credentialsProvider).setTimeout(getTimeoutSeconds()).call());
+        results.forEach(result -> listener.onMessage("Pushed to " + result.getURI()));
+
+        return GitPublishStatus.PUSHED;
     }
 
-    public void pushChanges() {
+    // false when nothing this run wrote differs from the last commit
+    private boolean commit(Git git, List<String> changedFiles, String commitMessage, GenerationListener listener) throws GitAPIException {
+        if (changedFiles.isEmpty()) return false;
+
+        // only stage what this run wrote, not everything that happens to be in the directory
+        final AddCommand add = git.add();
+        changedFiles.forEach(add::addFilepattern);
+        step("Add", listener, add::call);
+        listener.onMessage("Changes added");
+
+        final Status status = git.status().call();
+        if (status.getAdded().isEmpty() && status.getChanged().isEmpty() && status.getRemoved().isEmpty()) return false;
+
+        step("Commit", listener, () -> git.commit().setMessage(commitMessage).call());
+        listener.onMessage("Changes committed");
+        return true;
+    }
+
+    private static boolean isAheadOfRemote(Repository repository) throws IOException {
+        final BranchTrackingStatus trackingStatus = BranchTrackingStatus.of(repository, repository.getBranch());
+        // a branch that was never pushed, e.g. to an empty remote, has nothing to compare with
+        if (trackingStatus == null) return repository.resolve(Constants.HEAD) != null;
+        return trackingStatus.getAheadCount() > 0;
+    }
+
+    // only the remote is waited for and worth retrying, so only its steps are interrupted by the timeout
+    private <T> T remoteStep(String step, Worker worker, GenerationListener listener, GitCall<T> call) throws GitAPIException {
+        return step(step, listener, () -> worker.interruptibly(step, () -> withRetries(step, listener, call)));
+    }
+
+    private <T> T step(String step, GenerationListener listener, GitCall<T> call) throws GitAPIException {
+        final long start = System.nanoTime();
         try {
-            Iterable<PushResult> results = this.git.push().setCredentialsProvider(this.credentialsProvider).call();
-            results.forEach(result -> System.out.println("Pushed to " + result.getURI()));
-        } catch (GitAPIException e) {
-            System.out.println("Error pushing changes");
-            e.printStackTrace();
+            return call.call();
+        } finally {
+            listener.onGitStep(step, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private <T> T withRetries(String step, GenerationListener listener, GitCall<T> call) throws GitAPIException {
+        long backoff = initialBackoff.toMillis();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.call();
+            } catch (TransportException e) {
+                // a transport failure is worth retrying, anything else fails the same way again
+                if (attempt >= maxAttempts) throw e;
+
+                listener.onMessage(step + " failed, retrying in " + backoff + "ms");
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interruptedException) {
+                    // the timeout passed, there is no point in another attempt
+                    throw e;
+                }
+                backoff *= 2;
+            }
         }
     }
-}
\ No newline at end of file
+
+    private int getTimeoutSeconds() {
+        return (int) Math.max(1, timeout.toSeconds());
+    }
+
+    // the thread of a publish while it waits for the remote, the timeout interrupts it there and never while it writes the
+    // files or the repository. JGit bounds every network call with the same timeout, so a call that ignores the interrupt
+    // still returns and no further one is started
+    private static final class Worker {
+        private Thread remoteThread;
+        private boolean timedOut;
+
+        synchronized void timeOut() {
+            timedOut = true;
+            if (remoteThread != null) remoteThread.interrupt();
+        }
+
+        synchronized boolean hasTimedOut() {
+            return timedOut;
+        }
+
+        <T> T interruptibly(String step, GitCall<T> call) throws GitAPIException {
+            synchronized (this) {
+                if (timedOut) throw new TransportException(step + " was not started, publishing timed out");
+                remoteThread = Thread.currentThread();
+            }
+
+            try {
+                return call.call();
+            } finally {
+                synchronized (this) {
+                    remoteThread = null;
+                    // an interrupt that came too late must not fail writing the files
+                    Thread.interrupted();
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface GitCall<T> {
+        T call() throws GitAPIException;
+    }
+}
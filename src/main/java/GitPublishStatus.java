@@ -0,0 +1,5 @@
+public enum GitPublishStatus {
+    PUSHED,
+    NO_CHANGES,
+    DISABLED
+}
@@ -0,0 +1,316 @@
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Everything a client emitter needs to know about an endpoint, parsed once per handler method so
+// rendering never has to touch the URL pattern or the parameter annotations again
+public class HandlerDescriptor {
+    private static final Pattern PATH_VARIABLE_PATTERN = Pattern.compile("\\{(.*?)}");
+
+    // the body is the first type argument, matched by name so reactor does not have to be on the classpath
+    private static final Set<String> RESPONSE_WRAPPERS = Set.of("org.springframework.http.ResponseEntity", "org.springframework.http.HttpEntity",
+            "java.util.Optional", "java.util.concurrent.Callable", "java.util.concurrent.CompletableFuture", "java.util.concurrent.CompletionStage",
+            "org.springframework.web.context.request.async.DeferredResult", "org.springframework.web.context.request.async.WebAsyncTask",
+            "reactor.core.publisher.Mono");
+    private static final Set<String> RESPONSE_STREAMS = Set.of("reactor.core.publisher.Flux", "org.reactivestreams.Publisher");
+    private static final String SERVER_SENT_EVENT = "org.springframework.http.codec.ServerSentEvent";
+
+    private final Class<?> beanType;
+    private final Method method;
+    private final String httpMethod;
+    private final String urlPattern;
+    private final List<UrlSegment> urlSegments;
+    private final List<ParameterBinding> pathVariables;
+    private final List<ParameterBinding> requestParams;
+    private final ParameterBinding requestBody;
+    private final ParameterBinding pageable;
+    private final Type returnType;
+    private final ResponseKind responseKind;
+    private final Type responseType;
+    private final boolean cacheable;
+    private final Set<String> cacheNames;
+    private final Set<String> evictedCacheNames;
+
+    private HandlerDescriptor(Class<?> beanType, Method method, String httpMethod, String urlPattern, List<UrlSegment> urlSegments,
+                              List<ParameterBinding> pathVariables, List<ParameterBinding> requestParams,
+                              ParameterBinding requestBody, ParameterBinding pageable, Type returnType, Response response,
+                              boolean cacheable, Set<String> cacheNames, Set<String> evictedCacheNames) {
+        this.beanType = beanType;
+        this.method = method;
+        this.httpMethod = httpMethod;
+        this.urlPattern = urlPattern;
+        this.urlSegments = List.copyOf(urlSegments);
+        this.pathVariables = List.copyOf(pathVariables);
+        this.requestParams = List.copyOf(requestParams);
+        this.requestBody = requestBody;
+        this.pageable = pageable;
+        this.returnType = returnType;
+        this.responseKind = response.kind();
+        this.responseType = response.type();
+        this.cacheable = cacheable;
+        this.cacheNames = Collections.unmodifiableSet(new TreeSet<>(cacheNames));
+        this.evictedCacheNames = Collections.unmodifiableSet(new TreeSet<>(evictedCacheNames));
+    }
+
+    // sorted, so everything rendered from the descriptors is stable between runs
+    public static List<HandlerDescriptor> describe(RequestMappingHandlerMapping handlerMapping) {
+        return handlerMapping.getHandlerMethods().entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<RequestMappingInfo, HandlerMethod> entry) -> entry.getKey().toString())
+                        .thenComparing(entry -> entry.getValue().getMethod().toGenericString()))
+                .map(entry -> of(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    public static HandlerDescriptor of(RequestMappingInfo mappingInfo, HandlerMethod handlerMethod) {
+        final Method method = handlerMethod.getMethod();
+        final Set<RequestMethod> httpMethods = mappingInfo.getMethodsCondition().getMethods();
+        final String httpMethod = httpMethods.isEmpty() ? "GET" : httpMethods.iterator().next().name();
+        final String urlPattern = String.join(", ", mappingInfo.getPatternValues());
+
+        final Parameter[] parameters = method.getParameters();
+        final List<ParameterBinding> requestParams = new ArrayList<>();
+        ParameterBinding requestBody = null;
+        ParameterBinding pageable = null;
+
+        for (int i = 0; i < parameters.length; i++) {
+            final Parameter parameter = parameters[i];
+
+            final RequestParam requestParam = parameter.getAnnotation(RequestParam.class);
+            if (requestParam != null) {
+                final String name = !requestParam.value().isEmpty() ? requestParam.value()
+                        : !requestParam.name().isEmpty() ? requestParam.name() : parameter.getName();
+                requestParams.add(new ParameterBinding(ParameterRole.REQUEST_PARAM, name, i, parameter.getParameterizedType()));
+            }
+
+            if (requestBody == null && parameter.getAnnotation(RequestBody.class) != null)
+                requestBody = new ParameterBinding(ParameterRole.REQUEST_BODY, parameter.getName(), i, parameter.getParameterizedType());
+
+            if (pageable == null && Pageable.class.isAssignableFrom(parameter.getType()))
+                pageable = new ParameterBinding(ParameterRole.PAGEABLE, "pageable", i, parameter.getParameterizedType());
+        }
+
+        // split the URL into literal text and variables, every variable is bound to its parameter in URL order
+        final List<UrlSegment> urlSegments = new ArrayList<>();
+        final List<ParameterBinding> pathVariables = new ArrayList<>();
+        final Matcher matcher = PATH_VARIABLE_PATTERN.matcher(urlPattern);
+        int end = 0;
+        while (matcher.find()) {
+            if (matcher.start() > end) urlSegments.add(new UrlSegment(urlPattern.substring(end, matcher.start()), false));
+
+            // {id:\d+} only contributes its name
+            final String variable = matcher.group(1);
+            final int regexStart = variable.indexOf(':');
+            final String name = regexStart < 0 ? variable : variable.substring(0, regexStart);
+
+            urlSegments.add(new UrlSegment(name, true));
+            pathVariables.add(bindPathVariable(method, parameters, name));
+            end = matcher.end();
+        }
+        if (end < urlPattern.length()) urlSegments.add(new UrlSegment(urlPattern.substring(end), false));
+
+        // the Spring cache names, so the client can drop what the server evicts
+        final String[] defaultCacheNames = Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), CacheConfig.class))
+                .map(CacheConfig::cacheNames)
+                .orElse(new String[0]);
+        final Set<String> cacheNames = new TreeSet<>();
+        final Set<String> evictedCacheNames = new TreeSet<>();
+
+        final Cacheable cacheable = AnnotatedElementUtils.findMergedAnnotation(method, Cacheable.class);
+        if (cacheable != null) addCacheNames(cacheNames, cacheable.cacheNames(), defaultCacheNames);
+
+        final List<CacheEvict> cacheEvicts = new ArrayList<>();
+        final List<CachePut> cachePuts = new ArrayList<>();
+        Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(method, CacheEvict.class)).ifPresent(cacheEvicts::add);
+        Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(method, CachePut.class)).ifPresent(cachePuts::add);
+        Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(method, Caching.class)).ifPresent(caching -> {
+            cacheEvicts.addAll(Arrays.asList(caching.evict()));
+            cachePuts.addAll(Arrays.asList(caching.put()));
+        });
+        cacheEvicts.forEach(cacheEvict -> addCacheNames(evictedCacheNames, cacheEvict.cacheNames().length > 0 ? cacheEvict.cacheNames() : cacheEvict.value(), defaultCacheNames));
+        cachePuts.forEach(cachePut -> addCacheNames(evictedCacheNames, cachePut.cacheNames().length > 0 ? cachePut.cacheNames() : cachePut.value(), defaultCacheNames));
+
+        return new HandlerDescriptor(handlerMethod.getBeanType(), method, httpMethod, urlPattern, urlSegments,
+                pathVariables, requestParams, requestBody, pageable, method.getGenericReturnType(),
+                resolveResponse(method.getGenericReturnType(), mappingInfo.getProducesCondition().getProducibleMediaTypes()),
+                cacheable != null, cacheNames, evictedCacheNames);
+    }
+
+    private static Response resolveResponse(Type returnType, Set<MediaType> producibleMediaTypes) {
+        Type type = returnType;
+        while (RESPONSE_WRAPPERS.contains(getRawClass(type).getName())) {
+            type = getTypeArgument(type);
+        }
+
+        final Class<?> rawClass = getRawClass(type);
+        final boolean eventStream = producibleMediaTypes.stream().anyMatch(MediaType.TEXT_EVENT_STREAM::includes);
+        final boolean jsonLines = producibleMediaTypes.stream().anyMatch(MediaType.APPLICATION_NDJSON::includes);
+
+        if (SseEmitter.class.isAssignableFrom(rawClass)) return new Response(ResponseKind.EVENT_STREAM, Object.class);
+
+        if (RESPONSE_STREAMS.contains(rawClass.getName())) {
+            final Type elementType = getTypeArgument(type);
+            if (getRawClass(elementType).getName().equals(SERVER_SENT_EVENT)) return new Response(ResponseKind.EVENT_STREAM, getTypeArgument(elementType));
+            if (eventStream) return new Response(ResponseKind.EVENT_STREAM, elementType);
+            if (jsonLines) return new Response(ResponseKind.JSON_LINES, elementType);
+
+            // without a streaming media type the elements are collected into a JSON array
+            return new Response(ResponseKind.BODY, ResolvableType.forClassWithGenerics(List.class, ResolvableType.forType(elementType)).getType());
+        }
+
+        if (StreamingResponseBody.class.isAssignableFrom(rawClass) || ResponseBodyEmitter.class.isAssignableFrom(rawClass))
+            return new Response(jsonLines ? ResponseKind.JSON_LINES : ResponseKind.BYTE_STREAM, Object.class);
+
+        if (Page.class.isAssignableFrom(rawClass)) return new Response(ResponseKind.PAGE, type);
+        if (Slice.class.isAssignableFrom(rawClass)) return new Response(ResponseKind.SLICE, type);
+
+        return new Response(ResponseKind.BODY, type);
+    }
+
+    private static Class<?> getRawClass(Type type) {
+        if (type instanceof Class<?> classType) return classType;
+        if (type instanceof ParameterizedType parameterizedType && parameterizedType.getRawType() instanceof Class<?> rawClass) return rawClass;
+
+        return Object.class;
+    }
+
+    // a raw wrapper does not tell what it contains
+    private static Type getTypeArgument(Type type) {
+        if (type instanceof ParameterizedType parameterizedType) return parameterizedType.getActualTypeArguments()[0];
+
+        return Object.class;
+    }
+
+    private static void addCacheNames(Set<String> cacheNames, String[] names, String[] defaultCacheNames) {
+        cacheNames.addAll(Arrays.asList(names.length > 0 ? names : defaultCacheNames));
+    }
+
+    private static ParameterBinding bindPathVariable(Method method, Parameter[] parameters, String name) {
+        for (int i = 0; i < parameters.length; i++) {
+            final PathVariable pathVariable = parameters[i].getAnnotation(PathVariable.class);
+            if (pathVariable == null) continue;
+
+            if (parameters[i].getName().equals(name) || pathVariable.value().equals(name) || pathVariable.name().equals(name))
+                return new ParameterBinding(ParameterRole.PATH_VARIABLE, name, i, parameters[i].getParameterizedType());
+        }
+
+        throw new IllegalArgumentException("No @PathVariable parameter for {" + name + "} in " + method.toGenericString());
+    }
+
+    public Class<?> getBeanType() {
+        return beanType;
+    }
+
+    // unique within the application, e.g. UserController.getUser
+    public String getEndpointName() {
+        return beanType.getSimpleName() + "." + method.getName();
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public String getMethodName() {
+        return method.getName();
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public String getUrlPattern() {
+        return urlPattern;
+    }
+
+    public List<UrlSegment> getUrlSegments() {
+        return urlSegments;
+    }
+
+    public List<ParameterBinding> getPathVariables() {
+        return pathVariables;
+    }
+
+    public List<ParameterBinding> getRequestParams() {
+        return requestParams;
+    }
+
+    public Optional<ParameterBinding> getRequestBody() {
+        return Optional.ofNullable(requestBody);
+    }
+
+    public Optional<ParameterBinding> getPageable() {
+        return Optional.ofNullable(pageable);
+    }
+
+    public Type getReturnType() {
+        return returnType;
+    }
+
+    public ResponseKind getResponseKind() {
+        return responseKind;
+    }
+
+    // the body without ResponseEntity or async wrappers, the element type for streams
+    public Type getResponseType() {
+        return responseType;
+    }
+
+    // annotated with @Cacheable
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    // from @Cacheable, sorted
+    public Set<String> getCacheNames() {
+        return cacheNames;
+    }
+
+    // from @CacheEvict and @CachePut, sorted
+    public Set<String> getEvictedCacheNames() {
+        return evictedCacheNames;
+    }
+
+    // literal text of the URL, or the name of a path variable
+    public record UrlSegment(String value, boolean pathVariable) {
+    }
+
+    private record Response(ResponseKind kind, Type type) {
+    }
+
+    // name is the name on the wire, index the position of the parameter in the handler method
+    public record ParameterBinding(ParameterRole role, String name, int index, Type type) {
+    }
+}
@@ -0,0 +1,37 @@
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryOutputSink implements OutputSink {
+    private final Map<String, String> pendingFiles = new ConcurrentHashMap<>();
+    private final Map<String, String> files = new TreeMap<>();
+
+    @Override
+    public void write(String path, String content) {
+        pendingFiles.put(path, content);
+    }
+
+    @Override
+    public synchronized boolean exists(String path) {
+        return files.containsKey(path);
+    }
+
+    @Override
+    public synchronized FlushResult flush() {
+        final List<String> changedFiles = new ArrayList<>();
+        long writtenBytes = 0;
+        for (Map.Entry<String, String> file : new TreeMap<>(pendingFiles).entrySet()) {
+            if (file.getValue().equals(files.put(file.getKey(), file.getValue()))) continue;
+
+            changedFiles.add(file.getKey());
+            writtenBytes += file.getValue().getBytes(StandardCharsets.UTF_8).length;
+        }
+        pendingFiles.clear();
+
+        return new FlushResult(changedFiles, writtenBytes);
+    }
+
+    public synchronized Map<String, String> getFiles() {
+        return Collections.unmodifiableMap(new TreeMap<>(files));
+    }
+}
@@ -0,0 +1,235 @@
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonClassDescription;
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Writes a StdSerializer for every generated interface that writes the properties Jackson would serialize through their
+// accessors, and a Jackson module that registers all of them, so Jackson does not introspect the classes. The properties
+// come from the BeanDescription of the given ObjectMapper, so inherited properties, renames and naming strategies are the
+// same. A class with anything the generated code does not reproduce, e.g. @JsonFormat or NON_NULL inclusion, keeps the
+// serializer of Jackson. The sources are meant to be compiled with the application, e.g. from target/generated-sources
+public class JacksonSerializerGenerator implements TypeListener {
+    public static final String MODULE_NAME = "Spring2TSJacksonModule";
+
+    // the Jackson annotations that only decide which properties there are and how they are named, every other one changes
+    // how a value is written
+    private static final Set<Class<? extends Annotation>> PROPERTY_ANNOTATIONS = Set.of(JsonProperty.class, JsonGetter.class, JsonSetter.class,
+            JsonAlias.class, JsonPropertyDescription.class, JsonIgnore.class, JsonInclude.class);
+    private static final Set<Class<? extends Annotation>> CLASS_ANNOTATIONS = Set.of(JsonPropertyOrder.class, JsonIgnoreProperties.class,
+            JsonNaming.class, JsonAutoDetect.class, JsonClassDescription.class, JsonInclude.class);
+
+    private final OutputSink outputSink;
+    private final String packageName;
+    private final ObjectMapper objectMapper;
+    // the class each serializer was written for, by serializer name
+    private final Map<String, String> serializers = new ConcurrentHashMap<>();
+    private volatile GenerationListener listener = new ConsoleGenerationListener();
+
+    public JacksonSerializerGenerator(OutputSink outputSink, String packageName) {
+        this(outputSink, packageName, new ObjectMapper());
+    }
+
+    // pass the ObjectMapper of the application to pick up its naming strategy, inclusion and mix-ins
+    public JacksonSerializerGenerator(OutputSink outputSink, String packageName, ObjectMapper objectMapper) {
+        this.outputSink = outputSink;
+        this.packageName = packageName;
+        this.objectMapper = objectMapper;
+    }
+
+    public OutputSink getOutputSink() {
+        return outputSink;
+    }
+
+    // told about the classes that keep the serializer of Jackson
+    public void setListener(GenerationListener listener) {
+        this.listener = listener;
+    }
+
+    // enums and unions keep the serializers of Jackson
+    @Override
+    public void onTypeRendered(Class<?> type, ApiSchema.TypeDefinition definition) {
+        if (definition.kind() != TypeKind.INTERFACE || !Modifier.isPublic(type.getModifiers()) || type.getCanonicalName() == null) return;
+
+        final String serializerName = definition.name() + "Serializer";
+        final SerializationConfig config = objectMapper.getSerializationConfig();
+        final BeanDescription beanDescription = config.introspect(objectMapper.constructType(type));
+
+        final List<BeanPropertyDefinition> properties = getSerializedProperties(config, beanDescription);
+        final Optional<String> unsupported = findUnsupported(config, beanDescription, properties);
+        if (unsupported.isPresent()) {
+            listener.onMessage("Spring2TS does not generate a serializer for " + type.getName() + ", " + unsupported.get());
+            serializers.remove(serializerName);
+            return;
+        }
+
+        final String className = type.getCanonicalName();
+        final String handledType = type.getTypeParameters().length == 0 ? className
+                : className + "<" + String.join(", ", Arrays.stream(type.getTypeParameters()).map(typeParameter -> "?").toList()) + ">";
+
+        final StringBuilder fields = new StringBuilder();
+        for (BeanPropertyDefinition property : properties) {
+            final AnnotatedMember accessor = property.getAccessor();
+            final String value = "value." + accessor.getName() + (accessor instanceof AnnotatedMethod ? "()" : "");
+            fields.append("\t\t").append(renderWrite(property.getName(), accessor.getRawType(), value)).append('\n');
+        }
+
+        outputSink.write(getPath(serializerName), """
+                package %s;
+
+                import com.fasterxml.jackson.core.JsonGenerator;
+                import com.fasterxml.jackson.databind.SerializerProvider;
+                import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+                import java.io.IOException;
+
+                // Generated by Spring2TS from %s, do not edit
+                public class %s extends StdSerializer<%s> {
+
+                \tpublic %s() {
+                \t\tsuper(%s.class, false);
+                \t}
+
+                \t@Override
+                \tpublic void serialize(%s value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                \t\tgenerator.writeStartObject();
+                %s\t\tgenerator.writeEndObject();
+                \t}
+                }
+                """.formatted(packageName, type.getName(), serializerName, handledType, serializerName, className, handledType, fields));
+        serializers.put(serializerName, type.getName());
+    }
+
+    // registers every serializer written so far, register the module as a bean to have Spring Boot pick it up
+    public void writeModule() {
+        final StringBuilder registrations = new StringBuilder();
+        new TreeMap<>(serializers).keySet().forEach(serializerName -> registrations.append("\t\taddSerializer(new ").append(serializerName).append("());\n"));
+
+        outputSink.write(getPath(MODULE_NAME), """
+                package %s;
+
+                import com.fasterxml.jackson.databind.module.SimpleModule;
+
+                // Generated by Spring2TS, do not edit
+                public class %s extends SimpleModule {
+
+                \tpublic %s() {
+                \t\tsuper("Spring2TS");
+                %s\t}
+                }
+                """.formatted(packageName, MODULE_NAME, MODULE_NAME, registrations));
+    }
+
+    private String getPath(String className) {
+        return packageName.replace('.', '/') + "/" + className + ".java";
+    }
+
+    // what the BeanSerializer of Jackson would write, in its order: the properties with an accessor, without the ignored
+    // names and the properties of an ignored type
+    private static List<BeanPropertyDefinition> getSerializedProperties(SerializationConfig config, BeanDescription beanDescription) {
+        final Set<String> ignoredNames = config.getDefaultPropertyIgnorals(beanDescription.getBeanClass(), beanDescription.getClassInfo()).findIgnoredForSerialization();
+
+        final List<BeanPropertyDefinition> properties = new ArrayList<>();
+        for (BeanPropertyDefinition property : beanDescription.findProperties()) {
+            if (!property.couldSerialize() || property.getAccessor() == null || ignoredNames.contains(property.getName())) continue;
+
+            final Class<?> propertyType = property.getAccessor().getRawType();
+            if (propertyType.isAnnotationPresent(JsonIgnoreType.class) || Boolean.TRUE.equals(config.getConfigOverride(propertyType).getIsIgnoredType())) continue;
+
+            properties.add(property);
+        }
+        return properties;
+    }
+
+    // why the generated serializer would write something else than Jackson, empty when it writes the same
+    private static Optional<String> findUnsupported(SerializationConfig config, BeanDescription beanDescription, List<BeanPropertyDefinition> properties) {
+        if (properties.isEmpty()) return Optional.of("it has no properties");
+        if (beanDescription.findJsonValueAccessor() != null || beanDescription.findAnyGetter() != null) return Optional.of("it uses @JsonValue or @JsonAnyGetter");
+        if (config.getDefaultTyper(config.constructType(beanDescription.getBeanClass())) != null) return Optional.of("its type is written as well");
+
+        for (Annotation annotation : getClassAnnotations(config, beanDescription.getBeanClass())) {
+            if (isJacksonAnnotation(annotation) && !CLASS_ANNOTATIONS.contains(annotation.annotationType()))
+                return Optional.of("it is annotated with @" + annotation.annotationType().getSimpleName());
+        }
+
+        final JsonInclude.Value classInclusion = beanDescription.findPropertyInclusion(config.getDefaultPropertyInclusion(beanDescription.getBeanClass()));
+        for (BeanPropertyDefinition property : properties) {
+            final AnnotatedMember accessor = property.getAccessor();
+            if (!Modifier.isPublic(accessor.getMember().getModifiers()))
+                return Optional.of(property.getName() + " has no public accessor");
+
+            for (Annotation annotation : accessor.getAllAnnotations().annotations()) {
+                if (isJacksonAnnotation(annotation) && !PROPERTY_ANNOTATIONS.contains(annotation.annotationType()))
+                    return Optional.of(property.getName() + " is annotated with @" + annotation.annotationType().getSimpleName());
+            }
+
+            // nulls, empty values and defaults are written like any other value
+            final JsonInclude.Value inclusion = classInclusion.withOverrides(config.getDefaultInclusion(beanDescription.getBeanClass(), accessor.getRawType()))
+                    .withOverrides(property.findInclusion());
+            if (!writesEverything(inclusion.getValueInclusion()) || !writesEverything(inclusion.getContentInclusion()))
+                return Optional.of(property.getName() + " is not always included");
+        }
+
+        return Optional.empty();
+    }
+
+    // the annotations Jackson reads for a class: those of the class, its supertypes and their mix-ins
+    private static List<Annotation> getClassAnnotations(SerializationConfig config, Class<?> type) {
+        final List<Annotation> annotations = new ArrayList<>();
+        for (Class<?> annotatedType : ClassUtil.findRawSuperTypes(type, null, true)) {
+            final Class<?> mixIn = config.findMixInClassFor(annotatedType);
+            if (mixIn != null) annotations.addAll(Arrays.asList(ClassUtil.findClassAnnotations(mixIn)));
+            annotations.addAll(Arrays.asList(ClassUtil.findClassAnnotations(annotatedType)));
+        }
+        return annotations;
+    }
+
+    // a bundle stands for the Jackson annotations it is annotated with
+    private static boolean isJacksonAnnotation(Annotation annotation) {
+        return annotation.annotationType().getName().startsWith("com.fasterxml.jackson.")
+                || annotation.annotationType().isAnnotationPresent(JacksonAnnotationsInside.class);
+    }
+
+    private static boolean writesEverything(JsonInclude.Include include) {
+        return include == JsonInclude.Include.ALWAYS || include == JsonInclude.Include.USE_DEFAULTS;
+    }
+
+    // strings and primitives are written directly, everything else through the serializer Jackson has for its type
+    private static String renderWrite(String name, Class<?> type, String value) {
+        final String fieldName = "\"" + name.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+
+        if (type == String.class) return "generator.writeStringField(" + fieldName + ", " + value + ");";
+        if (type == boolean.class) return "generator.writeBooleanField(" + fieldName + ", " + value + ");";
+        if (type == int.class || type == long.class || type == double.class || type == float.class)
+            return "generator.writeNumberField(" + fieldName + ", " + value + ");";
+
+        return "provider.defaultSerializeField(" + fieldName + ", " + value + ", generator);";
+    }
+}
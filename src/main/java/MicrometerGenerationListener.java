@@ -0,0 +1,37 @@
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+
+// Binds the generation metrics to Micrometer, only usable when micrometer-core is on the classpath (e.g. with the actuator)
+public class MicrometerGenerationListener implements GenerationListener {
+    private final MeterRegistry meterRegistry;
+
+    public MicrometerGenerationListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onPhaseCompleted(GenerationPhase phase, Duration duration) {
+        Timer.builder("spring2ts.phase")
+                .tag("phase", phase.name().toLowerCase())
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    @Override
+    public void onGitStep(String step, Duration duration) {
+        Timer.builder("spring2ts.git")
+                .tag("step", step.toLowerCase())
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    @Override
+    public void onGenerationCompleted(GenerationSummary summary) {
+        meterRegistry.counter("spring2ts.types.resolved").increment(summary.getTypesResolved());
+        meterRegistry.counter("spring2ts.files.written").increment(summary.getFilesWritten());
+        meterRegistry.counter("spring2ts.files.skipped").increment(summary.getFilesSkipped());
+        meterRegistry.counter("spring2ts.bytes.written").increment(summary.getBytesWritten());
+    }
+}
@@ -0,0 +1,26 @@
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+
+// collects the rendered files, paths are relative to the output directory
+public interface OutputSink {
+
+    void write(String path, String content);
+
+    // for files that are written front to back in a single pass, the content is handed to write() on close
+    default Writer openWriter(String path) {
+        final OutputSink outputSink = this;
+        return new StringWriter() {
+            @Override
+            public void close() {
+                outputSink.write(path, toString());
+            }
+        };
+    }
+
+    // whether the file is already present from a previous run, used to skip rendering unchanged types
+    boolean exists(String path);
+
+    // emits everything written since the last flush
+    FlushResult flush();
+}
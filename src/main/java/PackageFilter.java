@@ -0,0 +1,36 @@
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// the packages to scan compiled into a prefix trie, so a lookup only walks the name once
+public class PackageFilter {
+    private final Node root = new Node();
+
+    public PackageFilter(List<String> packagesToScan) {
+        packagesToScan.forEach(this::addPrefix);
+    }
+
+    private void addPrefix(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.children.computeIfAbsent(prefix.charAt(i), character -> new Node());
+        }
+        node.terminal = true;
+    }
+
+    public boolean matches(String name) {
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+            if (node.terminal) return true;
+
+            node = node.children.get(name.charAt(i));
+            if (node == null) return false;
+        }
+        return node.terminal;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private boolean terminal;
+    }
+}
@@ -0,0 +1,10 @@
+public enum ParameterRole {
+    // bound to a {variable} in the URL
+    PATH_VARIABLE,
+    // appended to the URL as a query parameter
+    REQUEST_PARAM,
+    // sent as the request body
+    REQUEST_BODY,
+    // expanded into page, size and sort query parameters
+    PAGEABLE
+}
@@ -0,0 +1,172 @@
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Decides which GET endpoints the generated client memoizes. @Cacheable endpoints use the default policy,
+// other endpoints (e.g. a ResponseEntity with a Cache-Control header) can be cached by their endpoint name
+public class ResponseCacheConfig {
+    // runtime module next to the api files, without the .ts extension
+    public static final String RUNTIME_MODULE = "spring2ts-cache";
+
+    private CachePolicy defaultPolicy = new CachePolicy(Duration.ofMinutes(1), 100);
+    private final Map<String, CachePolicy> endpointPolicies = new HashMap<>();
+    private final Set<String> disabledEndpoints = new HashSet<>();
+
+    public ResponseCacheConfig() {
+    }
+
+    // e.g. for a run, so changing the config while it generates does not affect it
+    public ResponseCacheConfig(ResponseCacheConfig responseCacheConfig) {
+        this.defaultPolicy = responseCacheConfig.defaultPolicy;
+        this.endpointPolicies.putAll(responseCacheConfig.endpointPolicies);
+        this.disabledEndpoints.addAll(responseCacheConfig.disabledEndpoints);
+    }
+
+    public void setDefaultPolicy(CachePolicy defaultPolicy) {
+        this.defaultPolicy = defaultPolicy;
+    }
+
+    // endpoint names look like UserController.getUser
+    public void cache(String endpointName, CachePolicy policy) {
+        endpointPolicies.put(endpointName, policy);
+        disabledEndpoints.remove(endpointName);
+    }
+
+    public void disable(String endpointName) {
+        disabledEndpoints.add(endpointName);
+        endpointPolicies.remove(endpointName);
+    }
+
+    // null when the responses of the endpoint are not cached
+    public CachePolicy getPolicy(ApiSchema.Endpoint endpoint) {
+        if (!endpoint.httpMethod().equals("GET") || endpoint.isStreaming() || disabledEndpoints.contains(endpoint.name())) return null;
+
+        final CachePolicy policy = endpointPolicies.get(endpoint.name());
+        if (policy != null) return policy;
+
+        return endpoint.cacheable() ? defaultPolicy : null;
+    }
+
+    // indexes the cached endpoints by Spring cache and by path once, instead of comparing every mutating endpoint with
+    // every other one
+    public Invalidations indexInvalidations(List<ApiSchema.Endpoint> endpoints) {
+        final Invalidations invalidations = new Invalidations();
+
+        for (ApiSchema.Endpoint endpoint : endpoints) {
+            if (getPolicy(endpoint) == null) continue;
+
+            endpoint.cacheNames().forEach(cacheName -> invalidations.endpointsPerCache.computeIfAbsent(cacheName, key -> new ArrayList<>()).add(endpoint.name()));
+
+            PathNode node = invalidations.paths;
+            for (String segment : getPath(endpoint)) {
+                node = node.children.computeIfAbsent(segment, key -> new PathNode());
+            }
+            // an endpoint on the root path is not related to any other path
+            if (node != invalidations.paths) node.endpoints.add(endpoint.name());
+        }
+
+        return invalidations;
+    }
+
+    // the literal segments of the URL, path variables all look the same
+    private static List<String> getPath(ApiSchema.Endpoint endpoint) {
+        final StringBuilder path = new StringBuilder();
+        endpoint.urlSegments().forEach(segment -> path.append(segment.pathVariable() ? "{}" : segment.value()));
+
+        return Arrays.stream(path.toString().split("/")).filter(segment -> !segment.isEmpty()).toList();
+    }
+
+    public String renderRuntime() {
+        return """
+                type Entry = { value: Promise<unknown>, expires: number };
+
+                const caches = new Map<string, Map<string, Entry>>();
+
+                // a Map keeps its insertion order, so re-inserting an entry on a hit keeps the least recently used entry first
+                export const cached = <T>(endpoint: string, key: string, ttl: number, maxEntries: number, load: () => Promise<T>): Promise<T> => {
+                	const cache = caches.get(endpoint) ?? new Map<string, Entry>();
+                	caches.set(endpoint, cache);
+
+                	const now = Date.now();
+                	const entry = cache.get(key);
+                	if (entry) {
+                		cache.delete(key);
+                		if (entry.expires > now) {
+                			cache.set(key, entry);
+                			return entry.value as Promise<T>;
+                		}
+                	}
+
+                	const value = load();
+                	const created: Entry = { value, expires: now + ttl };
+                	cache.set(key, created);
+                	// failed requests are not cached
+                	value.catch(() => { if (cache.get(key) === created) cache.delete(key); });
+
+                	while (cache.size > maxEntries) cache.delete(cache.keys().next().value as string);
+                	return value;
+                };
+
+                export const invalidate = (...endpoints: string[]) => endpoints.forEach(endpoint => caches.delete(endpoint));
+                export const invalidateAll = () => caches.clear();
+
+                // drops the cached responses a mutating request can change once it completed
+                export const invalidating = <T>(endpoints: string[], request: Promise<T>): Promise<T> => request.finally(() => invalidate(...endpoints));
+                """;
+    }
+
+    // the cached endpoints a mutating endpoint invalidates: the ones evicted from the same Spring cache and
+    // the ones on the same path or a parent or child path of it
+    public static final class Invalidations {
+        private final Map<String, List<String>> endpointsPerCache = new HashMap<>();
+        private final PathNode paths = new PathNode();
+
+        private Invalidations() {
+        }
+
+        public Set<String> getInvalidatedEndpoints(ApiSchema.Endpoint mutatingEndpoint) {
+            if (!mutatingEndpoint.isMutating()) return Collections.emptySet();
+
+            final Set<String> invalidatedEndpoints = new TreeSet<>();
+            mutatingEndpoint.evictedCacheNames().forEach(cacheName -> invalidatedEndpoints.addAll(endpointsPerCache.getOrDefault(cacheName, List.of())));
+
+            final List<String> mutatedPath = getPath(mutatingEndpoint);
+            if (mutatedPath.isEmpty()) return invalidatedEndpoints;
+
+            // the endpoints on the parent paths, then everything on the path itself and below it
+            PathNode node = paths;
+            for (String segment : mutatedPath) {
+                invalidatedEndpoints.addAll(node.endpoints);
+                node = node.children.get(segment);
+                if (node == null) return invalidatedEndpoints;
+            }
+            node.collectEndpoints(invalidatedEndpoints);
+
+            return invalidatedEndpoints;
+        }
+    }
+
+    private static final class PathNode {
+        private final Map<String, PathNode> children = new HashMap<>();
+        private final List<String> endpoints = new ArrayList<>();
+
+        private void collectEndpoints(Set<String> endpointNames) {
+            endpointNames.addAll(endpoints);
+            children.values().forEach(child -> child.collectEndpoints(endpointNames));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCacheConfig{defaultPolicy=" + defaultPolicy + ", endpointPolicies=" + new TreeMap<>(endpointPolicies)
+                + ", disabledEndpoints=" + new TreeSet<>(disabledEndpoints) + "}";
+    }
+}
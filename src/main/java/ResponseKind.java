@@ -0,0 +1,14 @@
+public enum ResponseKind {
+    // a single JSON body
+    BODY,
+    // a Spring Data Page, can be iterated page by page
+    PAGE,
+    // a Spring Data Slice, can be iterated page by page
+    SLICE,
+    // text/event-stream, e.g. an SseEmitter or a Flux
+    EVENT_STREAM,
+    // application/x-ndjson, one JSON value per line
+    JSON_LINES,
+    // raw bytes, e.g. a StreamingResponseBody
+    BYTE_STREAM
+}
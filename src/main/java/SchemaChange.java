@@ -0,0 +1,8 @@
+// subject is the type or endpoint name, breaking when clients generated from the previous schema may fail
+public record SchemaChange(boolean breaking, String subject, String description) {
+
+    @Override
+    public String toString() {
+        return (breaking ? "BREAKING " : "") + subject + ": " + description;
+    }
+}
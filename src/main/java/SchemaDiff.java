@@ -0,0 +1,104 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Compares two schemas by name, without rendering either of them. Removing or changing something a client relies on
+// is breaking, adding a type, field, enum constant or endpoint is not
+public final class SchemaDiff {
+
+    private SchemaDiff() {
+    }
+
+    public static List<SchemaChange> compare(ApiSchema previous, ApiSchema current) {
+        final List<SchemaChange> changes = new ArrayList<>();
+
+        compareByName(previous.types(), current.types(), ApiSchema.TypeDefinition::name, changes, "type", SchemaDiff::compareTypes);
+        compareByName(previous.services(), current.services(), ApiSchema.Service::name, changes, "service",
+                (previousService, currentService, serviceChanges) -> compareByName(previousService.endpoints(), currentService.endpoints(),
+                        endpoint -> qualify(currentService.name(), endpoint.name()), serviceChanges, "endpoint", SchemaDiff::compareEndpoints));
+
+        return changes;
+    }
+
+    public static boolean hasBreakingChanges(List<SchemaChange> changes) {
+        return changes.stream().anyMatch(SchemaChange::breaking);
+    }
+
+    private static void compareTypes(ApiSchema.TypeDefinition previous, ApiSchema.TypeDefinition current, List<SchemaChange> changes) {
+        final String name = current.name();
+
+        if (previous.kind() != current.kind()) {
+            changes.add(new SchemaChange(true, name, "changed from " + previous.kind() + " to " + current.kind()));
+            return;
+        }
+        if (!previous.typeParameters().equals(current.typeParameters()))
+            changes.add(new SchemaChange(true, name, "type parameters changed from " + previous.typeParameters() + " to " + current.typeParameters()));
+        if (!Objects.equals(previous.superType(), current.superType()))
+            changes.add(new SchemaChange(true, name, "super type changed from " + previous.superType() + " to " + current.superType()));
+
+        compareByName(previous.fields(), current.fields(), field -> name + "." + field.name(), changes, "field", (previousField, currentField, fieldChanges) -> {
+            if (!previousField.type().equals(currentField.type()))
+                fieldChanges.add(new SchemaChange(true, name + "." + currentField.name(), "changed from " + previousField.type() + " to " + currentField.type()));
+        });
+
+        compareValues(previous.constants(), current.constants(), name, "constant", changes);
+        compareValues(previous.members(), current.members(), name, "member", changes);
+    }
+
+    // enum constants and union members, a client may not handle the ones that are added but does not get the removed ones anymore
+    private static void compareValues(List<String> previous, List<String> current, String name, String description, List<SchemaChange> changes) {
+        for (String value : previous) {
+            if (!current.contains(value)) changes.add(new SchemaChange(true, name, description + " " + value + " was removed"));
+        }
+        for (String value : current) {
+            if (!previous.contains(value)) changes.add(new SchemaChange(false, name, description + " " + value + " was added"));
+        }
+    }
+
+    private static void compareEndpoints(ApiSchema.Endpoint previous, ApiSchema.Endpoint current, List<SchemaChange> changes) {
+        final String name = current.name();
+
+        if (!previous.httpMethod().equals(current.httpMethod()) || !previous.path().equals(current.path()))
+            changes.add(new SchemaChange(true, name, "moved from " + previous.httpMethod() + " " + previous.path() + " to " + current.httpMethod() + " " + current.path()));
+        // the generated function takes its arguments by position
+        if (!previous.parameters().equals(current.parameters()))
+            changes.add(new SchemaChange(true, name, "parameters changed from " + describe(previous.parameters()) + " to " + describe(current.parameters())));
+        if (previous.responseKind() != current.responseKind() || !Objects.equals(previous.responseType(), current.responseType()))
+            changes.add(new SchemaChange(true, name, "response changed from " + previous.responseKind() + " " + previous.responseType()
+                    + " to " + current.responseKind() + " " + current.responseType()));
+        if (!Objects.equals(previous.elementType(), current.elementType()))
+            changes.add(new SchemaChange(true, name, "element type changed from " + previous.elementType() + " to " + current.elementType()));
+    }
+
+    private static String describe(List<ApiSchema.Parameter> parameters) {
+        return parameters.stream().map(parameter -> parameter.name() + (parameter.type() == null ? "" : ": " + parameter.type()))
+                .collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    private static String qualify(String service, String name) {
+        return service.isEmpty() ? name : service + "/" + name;
+    }
+
+    // removed elements are breaking, added ones are not, the ones in both schemas are compared further
+    private static <T> void compareByName(List<T> previous, List<T> current, Function<T, String> name, List<SchemaChange> changes,
+                                          String description, ElementComparison<T> comparison) {
+        final Map<String, T> currentByName = current.stream().collect(Collectors.toMap(name, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+        final Map<String, T> previousByName = previous.stream().collect(Collectors.toMap(name, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+
+        previousByName.forEach((elementName, previousElement) -> {
+            final T currentElement = currentByName.get(elementName);
+            if (currentElement == null) changes.add(new SchemaChange(true, elementName, description + " was removed"));
+            else comparison.compare(previousElement, currentElement, changes);
+        });
+        currentByName.keySet().stream().filter(elementName -> !previousByName.containsKey(elementName))
+                .forEach(elementName -> changes.add(new SchemaChange(false, elementName, description + " was added")));
+    }
+
+    private interface ElementComparison<T> {
+        void compare(T previous, T current, List<SchemaChange> changes);
+    }
+}
@@ -0,0 +1,60 @@
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+// Generates the files of a saved ApiSchema again, e.g. with another client emitter, without the application or Spring
+public class SchemaRenderer {
+    private final OutputSink outputSink;
+    private ClientEmitter clientEmitter = new AxiosClientEmitter();
+    private ResponseCacheConfig responseCacheConfig;
+    private ApiOutputMode apiOutputMode = ApiOutputMode.SINGLE_FILE;
+    private boolean validatorOutput;
+
+    public SchemaRenderer(OutputSink outputSink) {
+        this.outputSink = outputSink;
+    }
+
+    public void setClientEmitter(ClientEmitter clientEmitter) {
+        this.clientEmitter = clientEmitter;
+    }
+
+    public void setResponseCacheConfig(ResponseCacheConfig responseCacheConfig) {
+        this.responseCacheConfig = responseCacheConfig;
+    }
+
+    public void setApiOutputMode(ApiOutputMode apiOutputMode) {
+        this.apiOutputMode = apiOutputMode;
+    }
+
+    public void enableValidators() {
+        validatorOutput = true;
+    }
+
+    public FlushResult render(ApiSchema schema) {
+        final Set<String> typeNames = schema.types().stream().map(ApiSchema.TypeDefinition::name).collect(Collectors.toSet());
+
+        for (ApiSchema.TypeDefinition definition : schema.types()) {
+            final Set<String> importedTypes = new TreeSet<>();
+            definition.fields().forEach(field -> ApiSchema.collectTypeNames(field.type(), typeNames, importedTypes));
+            definition.members().forEach(member -> ApiSchema.collectTypeNames(member, typeNames, importedTypes));
+            ApiSchema.collectTypeNames(definition.superType(), typeNames, importedTypes);
+            importedTypes.remove(definition.name());
+
+            outputSink.write(definition.name() + ".ts", TypeScriptInterfaceGenerator.renderTypeDefinition(definition, importedTypes));
+        }
+
+        if (validatorOutput) outputSink.write(TypeScriptValidatorGenerator.FILE_NAME, TypeScriptValidatorGenerator.render(schema.types()));
+
+        for (ApiSchema.Service service : schema.services()) {
+            final String directory = service.name().isEmpty() ? "" : service.name() + "/";
+
+            final AxiosFileGenerator axiosFileGenerator = new AxiosFileGenerator(service.endpoints(), typeNames, outputSink);
+            axiosFileGenerator.setClientEmitter(clientEmitter);
+            axiosFileGenerator.setResponseCacheConfig(responseCacheConfig);
+            if (apiOutputMode == ApiOutputMode.PER_CONTROLLER) axiosFileGenerator.generateAxiosModules(directory + "api/");
+            else axiosFileGenerator.generateAxiosFile(directory + "api.ts");
+        }
+
+        return outputSink.flush();
+    }
+}
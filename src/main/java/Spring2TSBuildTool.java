@@ -0,0 +1,87 @@
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Generates the same files as a runtime generate() call from the compiled classes on the classpath,
+// e.g. from the exec-maven-plugin during mvn package, without booting the application
+public class Spring2TSBuildTool {
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: Spring2TSBuildTool <output path> <package to scan> [<package to scan>...] [<service>=<classpath>...]");
+            System.exit(1);
+        }
+
+        // name=classpath arguments are the build outputs of services that are merged into one package
+        final List<String> arguments = Arrays.asList(args).subList(1, args.length);
+        final List<String> packagesToScan = arguments.stream().filter(argument -> !argument.contains("=")).toList();
+        final Map<String, String> services = new TreeMap<>();
+        arguments.stream().filter(argument -> argument.contains("="))
+                .forEach(argument -> services.put(argument.substring(0, argument.indexOf('=')), argument.substring(argument.indexOf('=') + 1)));
+
+        final Spring2TSModule spring2TSModule = new Spring2TSModule(packagesToScan, args[0]);
+        if (services.isEmpty()) {
+            spring2TSModule.generate(createHandlerMapping(packagesToScan, Thread.currentThread().getContextClassLoader())).join();
+            return;
+        }
+
+        final Map<String, RequestMappingHandlerMapping> handlerMappings = new TreeMap<>();
+        services.forEach((service, classpath) -> handlerMappings.put(service, createHandlerMapping(packagesToScan, createClassLoader(classpath))));
+        spring2TSModule.generate(handlerMappings).join();
+    }
+
+    // every service gets its own class loader, so the same class in two services can have different fields
+    private static ClassLoader createClassLoader(String classpath) {
+        final URL[] urls = Arrays.stream(classpath.split(File.pathSeparator)).map(entry -> {
+            try {
+                return Paths.get(entry).toUri().toURL();
+            } catch (MalformedURLException e) {
+                throw new RuntimeException(e);
+            }
+        }).toArray(URL[]::new);
+
+        return new URLClassLoader(urls, Thread.currentThread().getContextClassLoader());
+    }
+
+    public static RequestMappingHandlerMapping createHandlerMapping(List<String> packagesToScan, ClassLoader classLoader) {
+        final ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Controller.class));
+
+        final GenericWebApplicationContext context = new GenericWebApplicationContext();
+        context.setClassLoader(classLoader);
+
+        for (String packageToScan : packagesToScan) {
+            for (BeanDefinition controller : scanner.findCandidateComponents(packageToScan)) {
+                if (context.containsBeanDefinition(controller.getBeanClassName())) continue;
+
+                // lazy, so refreshing the context only reads the bean types and never instantiates a controller
+                ((AbstractBeanDefinition) controller).setLazyInit(true);
+                context.registerBeanDefinition(controller.getBeanClassName(), controller);
+            }
+        }
+
+        context.refresh();
+
+        final RequestMappingHandlerMapping handlerMapping = new RequestMappingHandlerMapping();
+        handlerMapping.setApplicationContext(context);
+        handlerMapping.afterPropertiesSet();
+
+        return handlerMapping;
+    }
+}
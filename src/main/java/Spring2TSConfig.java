@@ -0,0 +1,34 @@
+import java.util.List;
+import java.util.concurrent.Executor;
+
+// The settings of a Spring2TSModule as they were when a run started, so changing the module while it generates does not
+// affect that run. The response cache config is copied, objects that are configured themselves, like the client emitter,
+// the Git handler or the ObjectMapper of the serializers, are the same ones the module was given. The executor is null
+// for a sequential run, a cache release threshold of 0 disables the low memory mode, and the default functions are written after
+// those of the client emitter
+public record Spring2TSConfig(List<String> packagesToScan, String outputPath, ApiOutputMode apiOutputMode, ClientEmitter clientEmitter,
+                              ResponseCacheConfig responseCacheConfig, Executor executor, boolean schemaOutput, boolean validatorOutput,
+                              long cacheReleaseThresholdBytes, List<String> defaultFunctions, OutputSink outputSink, GitHandler gitHandler,
+                              FingerprintCache fingerprintCache, JacksonSerializerGenerator jacksonSerializerGenerator,
+                              List<GenerationListener> listeners) {
+
+    public Spring2TSConfig {
+        if (outputPath == null) throw new IllegalArgumentException("Output path cannot be null");
+        if (outputSink == null) throw new IllegalArgumentException("Output sink cannot be null");
+        if (cacheReleaseThresholdBytes < 0) throw new IllegalArgumentException("Cache release threshold cannot be negative: " + cacheReleaseThresholdBytes);
+        if (!outputPath.endsWith("/")) outputPath += '/';
+        packagesToScan = List.copyOf(packagesToScan);
+        responseCacheConfig = responseCacheConfig == null ? null : new ResponseCacheConfig(responseCacheConfig);
+        defaultFunctions = List.copyOf(defaultFunctions);
+        listeners = List.copyOf(listeners);
+    }
+
+    public boolean lowMemoryMode() {
+        return cacheReleaseThresholdBytes > 0;
+    }
+
+    // the type definitions are only kept when something is rendered from them
+    public boolean recordTypeDefinitions() {
+        return schemaOutput || validatorOutput;
+    }
+}
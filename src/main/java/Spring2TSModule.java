@@ -1,74 +1,477 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Slice;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 public class Spring2TSModule {
     private final List<String> packagesToScan;
     private final String outputPath;
+    private OutputSink outputSink;
     private GitHandler gitHandler;
+    private FingerprintCache fingerprintCache;
+    private Executor executor;
+    private ApiOutputMode apiOutputMode = ApiOutputMode.SINGLE_FILE;
+    private ClientEmitter clientEmitter = new AxiosClientEmitter();
+    private ResponseCacheConfig responseCacheConfig;
+    private boolean schemaOutput;
+    private boolean validatorOutput;
+    private JacksonSerializerGenerator jacksonSerializerGenerator;
+    private long cacheReleaseThresholdBytes;
+    private final List<String> defaultFunctions = new CopyOnWriteArrayList<>();
+    private final List<GenerationListener> listeners = new CopyOnWriteArrayList<>();
+    private final GenerationListener consoleListener = new ConsoleGenerationListener();
     private final TypeScriptInterfaceGenerator typeScriptInterfaceGenerator;
+    // the generator keeps the types of earlier runs, e.g. for the watcher, so the runs of a module happen one after the other
+    private final Semaphore running = new Semaphore(1);
+    // the output directories modules are generating into right now, two runs writing the same files would corrupt them
+    private static final Set<Path> ACTIVE_OUTPUT_DIRECTORIES = ConcurrentHashMap.newKeySet();
 
     public Spring2TSModule(final List<String> packagesToScan, String outputPath) {
         this.packagesToScan = packagesToScan;
         if (outputPath == null) throw new IllegalArgumentException("Output path cannot be null");
         if (!outputPath.endsWith("/")) outputPath += '/';
         this.outputPath = outputPath;
-        this.typeScriptInterfaceGenerator = new TypeScriptInterfaceGenerator(packagesToScan);
+        this.outputSink = new FileSystemOutputSink(Paths.get(outputPath));
+        this.typeScriptInterfaceGenerator = new TypeScriptInterfaceGenerator(packagesToScan, outputSink);
+        listeners.add(consoleListener);
+    }
+
+    // e.g. an InMemoryOutputSink for tests or a ZipOutputSink to ship the generated files as an artifact
+    public void setOutputSink(OutputSink outputSink) {
+        this.outputSink = outputSink;
     }
 
     public void enableGitModule(final String gitUrl, final String username, final String token) {
         gitHandler = new GitHandler(gitUrl, username, token, outputPath);
     }
 
+    public void enableGitModule(final GitHandler gitHandler) {
+        this.gitHandler = gitHandler;
+    }
+
+    public void enableIncrementalGeneration() {
+        fingerprintCache = new FingerprintCache(Paths.get(outputPath + ".spring2ts-cache"), packagesToScan);
+    }
+
+    public void setApiOutputMode(ApiOutputMode apiOutputMode) {
+        this.apiOutputMode = apiOutputMode;
+    }
+
+    // e.g. a FetchClientEmitter for a client without dependencies
+    public void setClientEmitter(ClientEmitter clientEmitter) {
+        this.clientEmitter = clientEmitter;
+    }
+
+    // memoizes the responses of @Cacheable endpoints in the generated client
+    public ResponseCacheConfig enableResponseCaching() {
+        enableResponseCaching(new ResponseCacheConfig());
+        return responseCacheConfig;
+    }
+
+    public void enableResponseCaching(ResponseCacheConfig responseCacheConfig) {
+        this.responseCacheConfig = responseCacheConfig;
+    }
+
+    // writes the ApiSchema the files are generated from to spring2ts-schema.json, e.g. to render it again or diff it in CI
+    public void enableSchemaOutput() {
+        schemaOutput = true;
+    }
+
+    // writes validators.ts with an isX type guard and a decodeX decoder for every generated type
+    public void enableValidators() {
+        validatorOutput = true;
+    }
+
+    // writes a Jackson serializer for every generated interface and a module registering them into a source directory of
+    // the application, e.g. target/generated-sources/spring2ts
+    public void enableJacksonSerializers(String sourceDirectory, String packageName) {
+        enableJacksonSerializers(sourceDirectory, packageName, new ObjectMapper());
+    }
+
+    // the serializers write the properties the given mapper would, e.g. with its naming strategy
+    public void enableJacksonSerializers(String sourceDirectory, String packageName, ObjectMapper objectMapper) {
+        jacksonSerializerGenerator = new JacksonSerializerGenerator(new FileSystemOutputSink(Paths.get(sourceDirectory)), packageName, objectMapper);
+    }
+
+    // for very large type graphs: files are written as soon as they are rendered, the api files are streamed, and the
+    // cached resolutions are dropped whenever the heap retained after a garbage collection exceeds the threshold. That
+    // only frees what the generator caches, it does not limit the heap of the run
+    public void enableLowMemoryMode(long cacheReleaseThresholdBytes) {
+        if (cacheReleaseThresholdBytes <= 0) throw new IllegalArgumentException("Cache release threshold must be positive: " + cacheReleaseThresholdBytes);
+        this.cacheReleaseThresholdBytes = cacheReleaseThresholdBytes;
+    }
+
+    // written at the end of every api file, after the default functions of the client emitter
+    public void addDefaultFunction(String function) {
+        defaultFunctions.add(function);
+    }
+
+    // the settings the next run is generated with
+    public Spring2TSConfig getConfig() {
+        return new Spring2TSConfig(packagesToScan, outputPath, apiOutputMode, clientEmitter, responseCacheConfig, executor,
+                schemaOutput, validatorOutput, cacheReleaseThresholdBytes, defaultFunctions, outputSink, gitHandler, fingerprintCache,
+                jacksonSerializerGenerator, listeners);
+    }
+
+    public void addListener(GenerationListener listener) {
+        listeners.add(listener);
+    }
+
+    // e.g. when a listener reports the runs already
+    public void disableConsoleOutput() {
+        listeners.remove(consoleListener);
+    }
+
+    public TypeScriptInterfaceGenerator getTypeScriptInterfaceGenerator() {
+        return typeScriptInterfaceGenerator;
+    }
+
+    public TypeResolutionCache getTypeResolutionCache() {
+        return typeScriptInterfaceGenerator.getResolutionCache();
+    }
+
+    public void enableParallelGeneration() {
+        enableParallelGeneration(ForkJoinPool.commonPool());
+    }
+
+    // any executor works, e.g. a dedicated ForkJoinPool or a virtual thread per task executor
+    public void enableParallelGeneration(Executor executor) {
+        this.executor = executor;
+    }
+
     private void handleType(Type type) {
         if (type instanceof ParameterizedType parameterizedType) {
             Arrays.stream(parameterizedType.getActualTypeArguments()).forEach(this::handleType);
 
             if (parameterizedType.getRawType() instanceof Class<?> rawTypeClass) {
                 final String packageName = rawTypeClass.getPackageName();
-                if (shouldScanPackage(packageName))
-                    typeScriptInterfaceGenerator.generateTsInterface(rawTypeClass);
+                if (shouldScanPackage(packageName) || Slice.class.isAssignableFrom(rawTypeClass))
+                    typeScriptInterfaceGenerator.javaTypeToTsType(rawTypeClass);
             }
         } else if (type instanceof WildcardType wildcardType) {
             Arrays.stream(wildcardType.getUpperBounds()).forEach(this::handleType);
         } else if (type instanceof Class<?> actualClass) {
             final String packageName = actualClass.getPackageName();
             if (shouldScanPackage(packageName))
-                typeScriptInterfaceGenerator.generateTsInterface(actualClass);
+                typeScriptInterfaceGenerator.javaTypeToTsType(actualClass);
 
         }
     }
 
     private boolean shouldScanPackage(String packageName) {
-        return packagesToScan.stream().anyMatch(packageName::startsWith);
+        return typeScriptInterfaceGenerator.getPackageFilter().matches(packageName);
+    }
+
+    private void handleHandlerMethod(HandlerMethod handlerMethod) {
+        handleType(handlerMethod.getMethod().getGenericReturnType());
+
+        Arrays.stream(handlerMethod.getMethodParameters()).forEach(parameter -> {
+            Class<?> parameterType = parameter.getParameterType();
+            final String packageName = parameterType.getPackageName();
+
+            if (shouldScanPackage(packageName))
+                typeScriptInterfaceGenerator.javaTypeToTsType(parameterType);
+        });
+    }
+
+    private void scanHandlerMethod(GenerationRun run, HandlerMethod handlerMethod) {
+        handleHandlerMethod(handlerMethod);
+        releaseCachesAboveThreshold(run);
+    }
+
+    // the resolutions are cheap to compute again, the names, fingerprints and generated files are kept. The classes stay
+    // referenced until the end of the run, they are loaded anyway
+    private void releaseCachesAboveThreshold(GenerationRun run) {
+        if (!run.config.lowMemoryMode()) return;
+
+        // the retained heap only drops after the next collection, releasing again before that would not free anything
+        final long collections = ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+        final long lastRelease = run.collectionsAtRelease.get();
+        if (collections == lastRelease || getRetainedHeap() <= run.config.cacheReleaseThresholdBytes() || !run.collectionsAtRelease.compareAndSet(lastRelease, collections)) return;
+
+        typeScriptInterfaceGenerator.getResolutionCache().clear();
+        run.cacheReleases.incrementAndGet();
     }
 
-    public void generate(RequestMappingHandlerMapping mappingHandlerMapping) {
-        mappingHandlerMapping.getHandlerMethods().forEach((key, value) -> {
-            handleType(value.getMethod().getGenericReturnType());
+    // what was still in use after the last collection of each heap pool, garbage that has not been collected yet is not counted
+    private static long getRetainedHeap() {
+        long retainedHeap = 0;
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            final MemoryUsage usage = memoryPool.getType() == MemoryType.HEAP ? memoryPool.getCollectionUsage() : null;
+            if (usage != null) retainedHeap += usage.getUsed();
+        }
+        return retainedHeap;
+    }
+
+    public CompletableFuture<GenerationSummary> generate(RequestMappingHandlerMapping mappingHandlerMapping) {
+        return generateApis(Map.of("", mappingHandlerMapping), () -> {}, () -> {});
+    }
+
+    // for the watcher: beforeScan evicts and resolves the changed types with the settings of this run, afterScan sees every
+    // type the run generated. Both are called while the run holds the module, so no other run renders at the same time
+    CompletableFuture<GenerationSummary> generate(RequestMappingHandlerMapping mappingHandlerMapping, Runnable beforeScan, Runnable afterScan) {
+        return generateApis(Map.of("", mappingHandlerMapping), beforeScan, afterScan);
+    }
+
+    // merges several services into one package: every service gets its api files in a directory named after it, next to
+    // the interfaces of all services. A type they share is generated once, types that only share a simple name are namespaced
+    public CompletableFuture<GenerationSummary> generate(Map<String, RequestMappingHandlerMapping> services) {
+        // in a fixed order, the service that comes first keeps the simple names of conflicting types
+        final Map<String, RequestMappingHandlerMapping> mappingsPerDirectory = new TreeMap<>();
+        services.forEach((service, handlerMapping) -> {
+            if (service.isBlank() || service.contains("/")) throw new IllegalArgumentException("Invalid service name: " + service);
+            mappingsPerDirectory.put(service + "/", handlerMapping);
+        });
+
+        return generateApis(mappingsPerDirectory, () -> {}, () -> {});
+    }
+
+    private CompletableFuture<GenerationSummary> generateApis(Map<String, RequestMappingHandlerMapping> mappingsPerDirectory, Runnable beforeScan, Runnable afterScan) {
+        running.acquireUninterruptibly();
+        final GenerationRun run = new GenerationRun(getConfig(), typeScriptInterfaceGenerator.getResolutionCache());
+
+        final CompletableFuture<GenerationSummary> summary;
+        try {
+            claimOutputDirectory(run);
+            summary = generateApis(run, mappingsPerDirectory, beforeScan, afterScan);
+        } catch (RuntimeException e) {
+            release(run);
+            throw e;
+        }
+        return summary.whenComplete((generationSummary, throwable) -> release(run));
+    }
+
+    // the fingerprints and the Git checkout live in the output directory as well, only an output sink elsewhere can share it
+    private void claimOutputDirectory(GenerationRun run) {
+        final Spring2TSConfig config = run.config;
+        if (!(config.outputSink() instanceof FileSystemOutputSink) && config.fingerprintCache() == null && config.gitHandler() == null) return;
+
+        final Path outputDirectory = Paths.get(config.outputPath()).toAbsolutePath().normalize();
+        if (!ACTIVE_OUTPUT_DIRECTORIES.add(outputDirectory))
+            throw new IllegalStateException("Spring2TS is already generating into " + outputDirectory + ", give every module its own output path");
+        run.outputDirectory = outputDirectory;
+    }
+
+    private void release(GenerationRun run) {
+        if (run.config.jacksonSerializerGenerator() != null) typeScriptInterfaceGenerator.removeTypeListener(run.config.jacksonSerializerGenerator());
+        if (run.outputDirectory != null) ACTIVE_OUTPUT_DIRECTORIES.remove(run.outputDirectory);
+        running.release();
+    }
+
+    private CompletableFuture<GenerationSummary> generateApis(GenerationRun run, Map<String, RequestMappingHandlerMapping> mappingsPerDirectory,
+                                                              Runnable beforeScan, Runnable afterScan) {
+        final Spring2TSConfig config = run.config;
+        final Map<GenerationPhase, Duration> phaseDurations = run.phaseDurations;
+        final Duration renderingBeforeScan = typeScriptInterfaceGenerator.getRenderingTime();
+        long start = System.nanoTime();
+
+        // the runs of a module happen one after the other, so the generator they share gets the settings of this one
+        final JacksonSerializerGenerator jacksonSerializerGenerator = config.jacksonSerializerGenerator();
+        typeScriptInterfaceGenerator.setOutputSink(config.outputSink());
+        typeScriptInterfaceGenerator.setFingerprintCache(config.fingerprintCache());
+        typeScriptInterfaceGenerator.setRecordTypeDefinitions(config.recordTypeDefinitions());
+        typeScriptInterfaceGenerator.setListener(run.listener);
+        if (jacksonSerializerGenerator != null) {
+            jacksonSerializerGenerator.setListener(run.listener);
+            typeScriptInterfaceGenerator.addTypeListener(jacksonSerializerGenerator);
+        }
+        if (config.fingerprintCache() != null) config.fingerprintCache().reportReadFailure(run.listener);
+        beforeScan.run();
+
+        // with Git the files can only be written once the repository is pulled, so they are still buffered until then
+        final boolean lowMemoryMode = config.lowMemoryMode();
+        if (config.outputSink() instanceof FileSystemOutputSink fileSystemOutputSink)
+            fileSystemOutputSink.setWriteThrough(lowMemoryMode && config.gitHandler() == null);
+        if (jacksonSerializerGenerator != null && jacksonSerializerGenerator.getOutputSink() instanceof FileSystemOutputSink fileSystemOutputSink)
+            fileSystemOutputSink.setWriteThrough(lowMemoryMode);
+
+        // the handler methods come in no particular order, so the names are claimed up front, service by service
+        for (RequestMappingHandlerMapping mappingHandlerMapping : mappingsPerDirectory.values()) {
+            final List<Type> handlerTypes = new ArrayList<>();
+            mappingHandlerMapping.getHandlerMethods().values().forEach(handlerMethod -> {
+                handlerTypes.add(handlerMethod.getMethod().getGenericReturnType());
+                handlerTypes.addAll(Arrays.asList(handlerMethod.getMethod().getGenericParameterTypes()));
+            });
+            typeScriptInterfaceGenerator.claimNames(handlerTypes);
+        }
 
-            Arrays.stream(value.getMethodParameters()).forEach(parameter -> {
-                Class<?> parameterType = parameter.getParameterType();
-                final String packageName = parameterType.getPackage().getName();
+        for (RequestMappingHandlerMapping mappingHandlerMapping : mappingsPerDirectory.values()) {
+            if (config.executor() == null) {
+                mappingHandlerMapping.getHandlerMethods().values().forEach(handlerMethod -> scanHandlerMethod(run, handlerMethod));
+            } else {
+                // every handler method walks its own subtree, the generator makes sure a type is only rendered once
+                CompletableFuture.allOf(mappingHandlerMapping.getHandlerMethods().values().stream()
+                        .map(handlerMethod -> CompletableFuture.runAsync(() -> scanHandlerMethod(run, handlerMethod), config.executor()))
+                        .toArray(CompletableFuture[]::new)).join();
+            }
+        }
+
+        final Duration scanTime = Duration.ofNanos(System.nanoTime() - start);
+        final Duration renderingBeforeAxios = typeScriptInterfaceGenerator.getRenderingTime();
+        start = System.nanoTime();
+
+        int generatedApiFiles = 0;
+        final List<ApiSchema.Service> services = new ArrayList<>();
+        for (Map.Entry<String, RequestMappingHandlerMapping> mapping : mappingsPerDirectory.entrySet()) {
+            final AxiosFileGenerator axiosFileGenerator = new AxiosFileGenerator(mapping.getValue(), typeScriptInterfaceGenerator);
+            axiosFileGenerator.setFingerprintCache(config.fingerprintCache());
+            axiosFileGenerator.setExecutor(config.executor());
+            axiosFileGenerator.setClientEmitter(config.clientEmitter());
+            axiosFileGenerator.setResponseCacheConfig(config.responseCacheConfig());
+            axiosFileGenerator.setStreaming(lowMemoryMode);
+            config.defaultFunctions().forEach(axiosFileGenerator::addDefaultFunction);
+            if (config.apiOutputMode() == ApiOutputMode.PER_CONTROLLER) axiosFileGenerator.generateAxiosModules(mapping.getKey() + "api/");
+            else axiosFileGenerator.generateAxiosFile(mapping.getKey() + "api.ts");
+
+            generatedApiFiles += axiosFileGenerator.getGeneratedFiles().size();
+            if (config.schemaOutput()) services.add(new ApiSchema.Service(mapping.getKey().replace("/", ""), axiosFileGenerator.getEndpoints()));
+        }
+
+        final List<ApiSchema.TypeDefinition> typeDefinitions = List.copyOf(new TreeMap<>(typeScriptInterfaceGenerator.getTypeDefinitions()).values());
+        if (config.schemaOutput()) {
+            final ApiSchema schema = new ApiSchema(ApiSchema.VERSION, typeDefinitions, services);
+            config.outputSink().write(ApiSchema.FILE_NAME, schema.toJson());
+            generatedApiFiles++;
+        }
+        if (config.validatorOutput()) {
+            config.outputSink().write(TypeScriptValidatorGenerator.FILE_NAME, TypeScriptValidatorGenerator.render(typeDefinitions));
+            generatedApiFiles++;
+        }
+        if (jacksonSerializerGenerator != null) jacksonSerializerGenerator.writeModule();
+
+        // interfaces are rendered while their types are resolved, so their time is taken out of the other phases
+        final Duration axiosTime = Duration.ofNanos(System.nanoTime() - start);
+        final Duration renderingDuringScan = renderingBeforeAxios.minus(renderingBeforeScan);
+        final Duration renderingDuringAxios = typeScriptInterfaceGenerator.getRenderingTime().minus(renderingBeforeAxios);
+        completePhase(run, GenerationPhase.TYPE_SCAN, scanTime.minus(renderingDuringScan));
+        completePhase(run, GenerationPhase.INTERFACE_RENDERING, renderingDuringScan.plus(renderingDuringAxios));
+        completePhase(run, GenerationPhase.AXIOS_RENDERING, axiosTime.minus(renderingDuringAxios));
+        afterScan.run();
+
+        // one file per generated type plus the api files, everything that is not rewritten was either not rendered or identical
+        final int generatedFiles = typeScriptInterfaceGenerator.getGeneratedInterfaces().size() + generatedApiFiles;
+
+        final AtomicReference<FlushResult> flushResult = new AtomicReference<>();
+        final Supplier<List<String>> writeChanges = () -> {
+            flushResult.set(writeChanges(run));
+            return flushResult.get().getChangedFiles();
+        };
+
+        final CompletableFuture<GitPublishStatus> gitPublish;
+        if (config.gitHandler() == null) {
+            writeChanges.get();
+            gitPublish = CompletableFuture.completedFuture(GitPublishStatus.DISABLED);
+        } else {
+            // with Git enabled the files are only written once the repository has been cloned or pulled
+            gitPublish = config.gitHandler().publish(writeChanges, "Updated typescript interfaces", new GenerationListener() {
+                @Override
+                public void onGitStep(String step, Duration duration) {
+                    phaseDurations.merge(GenerationPhase.GIT, duration, Duration::plus);
+                    config.listeners().forEach(listener -> listener.onGitStep(step, duration));
+                }
 
-                if (shouldScanPackage(packageName))
-                    typeScriptInterfaceGenerator.generateTsInterface(parameterType);
+                @Override
+                public void onMessage(String message) {
+                    run.listener.onMessage(message);
+                }
             });
+        }
+
+        return gitPublish.thenApply(gitPublishStatus -> {
+            if (phaseDurations.containsKey(GenerationPhase.GIT))
+                config.listeners().forEach(listener -> listener.onPhaseCompleted(GenerationPhase.GIT, phaseDurations.get(GenerationPhase.GIT)));
+
+            // every miss is a type this run resolved, the counters are kept when the cached resolutions are dropped
+            final TypeResolutionCache resolutionCache = typeScriptInterfaceGenerator.getResolutionCache();
+            final int typesResolved = (int) (resolutionCache.getMisses() - run.resolutionCacheMissesAtStart);
+            final long resolutionCacheHits = resolutionCache.getHits() - run.resolutionCacheHitsAtStart;
+
+            final int filesWritten = flushResult.get().getChangedFiles().size();
+            final GenerationSummary summary = new GenerationSummary(phaseDurations, typesResolved, resolutionCacheHits, filesWritten,
+                    generatedFiles - filesWritten, flushResult.get().getWrittenBytes(), run.serializersWritten, run.cacheReleases.get(), gitPublishStatus);
+
+            // nothing of the application is kept between runs, the next one resolves its types again
+            if (lowMemoryMode) typeScriptInterfaceGenerator.releaseClasses();
+
+            config.listeners().forEach(listener -> listener.onGenerationCompleted(summary));
+            return summary;
         });
+    }
 
-        final AxiosFileGenerator axiosFileGenerator = new AxiosFileGenerator(mappingHandlerMapping, typeScriptInterfaceGenerator);
-        axiosFileGenerator.generateAxiosFile(outputPath + "api.ts");
+    private void completePhase(GenerationRun run, GenerationPhase phase, Duration duration) {
+        run.phaseDurations.put(phase, duration);
+        run.config.listeners().forEach(listener -> listener.onPhaseCompleted(phase, duration));
+    }
+
+    private FlushResult writeChanges(GenerationRun run) {
+        final Spring2TSConfig config = run.config;
+        final long start = System.nanoTime();
+        final FlushResult flushResult = config.outputSink().flush();
 
-        if (gitHandler == null) return;
+        if (config.fingerprintCache() != null) {
+            config.fingerprintCache().save();
+        }
+        if (config.jacksonSerializerGenerator() != null) {
+            run.serializersWritten = config.jacksonSerializerGenerator().getOutputSink().flush().getChangedFiles().size();
+        }
+        completePhase(run, GenerationPhase.FILE_IO, Duration.ofNanos(System.nanoTime() - start));
 
-        gitHandler.addChanges();
-        gitHandler.commitChanges("Updated typescript interfaces");
-        gitHandler.pushChanges();
+        return flushResult;
     }
 
+    // what a single run keeps to itself, the generator and output sinks are shared by the runs of the module
+    private static final class GenerationRun {
+        private final Spring2TSConfig config;
+        // hands what the generator, the serializers and Git report to the listeners of the run
+        private final GenerationListener listener;
+        private final Map<GenerationPhase, Duration> phaseDurations = new ConcurrentHashMap<>();
+        // the garbage collections that had happened when the caches were last released, and how often they were
+        private final AtomicLong collectionsAtRelease = new AtomicLong(-1);
+        private final AtomicInteger cacheReleases = new AtomicInteger();
+        // the counters of the shared resolution cache when the run started
+        private final long resolutionCacheHitsAtStart;
+        private final long resolutionCacheMissesAtStart;
+        private int serializersWritten;
+        private Path outputDirectory;
 
+        private GenerationRun(Spring2TSConfig config, TypeResolutionCache resolutionCache) {
+            this.config = config;
+            this.listener = new GenerationListener() {
+                @Override
+                public void onMessage(String message) {
+                    config.listeners().forEach(listener -> listener.onMessage(message));
+                }
+            };
+            this.resolutionCacheHitsAtStart = resolutionCache.getHits();
+            this.resolutionCacheMissesAtStart = resolutionCache.getMisses();
+        }
+    }
 }
@@ -0,0 +1,42 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+// Works on the spring2ts-schema.json written by enableSchemaOutput(), nothing of the application has to be on the classpath:
+// render generates the files again, diff exits with 1 when the current schema breaks clients of the previous one
+public class Spring2TSSchemaTool {
+
+    public static void main(String[] args) {
+        if (args.length == 3 && args[0].equals("diff")) {
+            final List<SchemaChange> changes = SchemaDiff.compare(read(Paths.get(args[1])), read(Paths.get(args[2])));
+            changes.forEach(System.out::println);
+
+            System.out.println(changes.size() + " changes, " + changes.stream().filter(SchemaChange::breaking).count() + " breaking");
+            if (SchemaDiff.hasBreakingChanges(changes)) System.exit(1);
+            return;
+        }
+
+        if ((args.length == 3 || args.length == 4) && args[0].equals("render")) {
+            final SchemaRenderer schemaRenderer = new SchemaRenderer(new FileSystemOutputSink(Paths.get(args[2])));
+            if (args.length == 4) schemaRenderer.setClientEmitter(args[3].equals("fetch") ? new FetchClientEmitter() : new AxiosClientEmitter());
+
+            final ApiSchema schema = read(Paths.get(args[1]));
+            System.out.println("Spring2TS wrote " + schemaRenderer.render(schema).getChangedFiles().size() + " files from schema version " + schema.version());
+            return;
+        }
+
+        System.out.println("Usage: Spring2TSSchemaTool diff <previous schema> <current schema>");
+        System.out.println("       Spring2TSSchemaTool render <schema> <output path> [axios|fetch]");
+        System.exit(1);
+    }
+
+    private static ApiSchema read(Path path) {
+        try {
+            return ApiSchema.fromJson(Files.readString(path));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
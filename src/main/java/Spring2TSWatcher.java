@@ -0,0 +1,214 @@
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Regenerates whenever the application context is refreshed (e.g. a DevTools restart) or, when watching the
+// classes directory, whenever classes are recompiled for a hot-swap. Within a context only the types whose bytecode
+// changed are rendered again, a restart creates a new watcher and module that resolve everything once.
+public class Spring2TSWatcher implements ApplicationListener<ContextRefreshedEvent>, AutoCloseable {
+    private final Spring2TSModule spring2TSModule;
+    private final Map<String, String> bytecodeHashes = new HashMap<>();
+    // read by the thread watching the classes directory
+    private volatile RequestMappingHandlerMapping handlerMapping;
+    private ClassLoader classLoader;
+    private Duration debounce = Duration.ofMillis(200);
+    private WatchService watchService;
+
+    public Spring2TSWatcher(Spring2TSModule spring2TSModule) {
+        this.spring2TSModule = spring2TSModule;
+    }
+
+    // compilers write the classes of a build one after the other, they are regenerated once it has been quiet for this long
+    public void setDebounce(Duration debounce) {
+        this.debounce = debounce;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        final ApplicationContext context = event.getApplicationContext();
+
+        // the actuator registers its own RequestMappingHandlerMapping, the one of the application is named after its type
+        final Map<String, RequestMappingHandlerMapping> handlerMappings = context.getBeansOfType(RequestMappingHandlerMapping.class);
+        final RequestMappingHandlerMapping refreshedHandlerMapping = handlerMappings.getOrDefault("requestMappingHandlerMapping",
+                handlerMappings.values().stream().findFirst().orElse(null));
+        if (refreshedHandlerMapping == null) return;
+
+        regenerate(refreshedHandlerMapping, context.getClassLoader());
+    }
+
+    public synchronized CompletableFuture<GenerationSummary> regenerate(RequestMappingHandlerMapping handlerMapping, ClassLoader classLoader) {
+        final TypeScriptInterfaceGenerator generator = spring2TSModule.getTypeScriptInterfaceGenerator();
+
+        // a restarted context loads every class again, none of the cached resolutions are valid anymore
+        final boolean reloaded = classLoader != this.classLoader;
+        this.handlerMapping = handlerMapping;
+        this.classLoader = classLoader;
+
+        // the generator is only touched by the run itself, which renders into its own output sink
+        return spring2TSModule.generate(handlerMapping, () -> {
+            if (reloaded) generator.releaseClasses();
+
+            final List<String> changedTypes = new ArrayList<>();
+            generator.getGeneratedTypes().forEach((name, className) -> {
+                if (!Objects.equals(bytecodeHashes.get(className), hashBytecode(className))) changedTypes.add(name);
+            });
+
+            final Map<String, String> generatedTypes = Map.copyOf(generator.getGeneratedTypes());
+            generator.evict(changedTypes);
+
+            // a changed type may only be reachable through types that did not change, so it is resolved explicitly
+            for (String changedType : changedTypes) {
+                final Class<?> reloadedType = loadClass(generatedTypes.get(changedType));
+                if (reloadedType != null) generator.javaTypeToTsType(reloadedType);
+            }
+        }, () -> {
+            // the same class loader returns the classes it loaded before, so a recompiled class is rendered from its old
+            // structure unless it was redefined in place. Its hash is only taken over once a new class loader loaded it, until
+            // then it counts as changed and is rendered again on every run
+            generator.getGeneratedTypes().values().forEach(className -> {
+                if (reloaded) bytecodeHashes.put(className, hashBytecode(className));
+                else bytecodeHashes.putIfAbsent(className, hashBytecode(className));
+            });
+        });
+    }
+
+    // regenerates with the handler mapping of the last refreshed context
+    public synchronized CompletableFuture<GenerationSummary> regenerate() {
+        if (handlerMapping == null) throw new IllegalStateException("No application context has been refreshed yet");
+
+        return regenerate(handlerMapping, classLoader);
+    }
+
+    public synchronized void watchClassesDirectory(Path classesDirectory) {
+        if (watchService != null) throw new IllegalStateException("Already watching a classes directory");
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            registerDirectories(watchService, classesDirectory);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        final WatchService classesWatchService = watchService;
+        final Thread thread = new Thread(() -> watch(classesWatchService), "spring2ts-watcher");
+        thread.setDaemon(true);
+        thread.start();
+
+        report("Spring2TS is watching " + classesDirectory + " for changed classes");
+    }
+
+    private void watch(WatchService watchService) {
+        try {
+            while (true) {
+                boolean classesChanged = pollClassChanges(watchService, watchService.take());
+
+                // wait until the compiler is done before regenerating
+                WatchKey key;
+                while ((key = watchService.poll(debounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    classesChanged |= pollClassChanges(watchService, key);
+                }
+
+                if (classesChanged && handlerMapping != null) {
+                    try {
+                        regenerate();
+                    } catch (RuntimeException e) {
+                        // a half written class file, the next change regenerates again
+                        report("Spring2TS could not regenerate: " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private void report(String message) {
+        spring2TSModule.getConfig().listeners().forEach(listener -> listener.onMessage(message));
+    }
+
+    private boolean pollClassChanges(WatchService watchService, WatchKey key) {
+        boolean classesChanged = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (!(event.context() instanceof Path changedPath)) continue;
+
+            final Path path = ((Path) key.watchable()).resolve(changedPath);
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    registerDirectories(watchService, path);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            classesChanged |= path.toString().endsWith(".class");
+        }
+
+        key.reset();
+        return classesChanged;
+    }
+
+    private void registerDirectories(WatchService watchService, Path root) throws IOException {
+        try (Stream<Path> directories = Files.walk(root)) {
+            for (Path directory : directories.filter(Files::isDirectory).toList()) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+    }
+
+    private Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            // deleted, its file stays until the next full generation
+            return null;
+        }
+    }
+
+    // null when the class file can not be found, e.g. a deleted class
+    private String hashBytecode(String className) {
+        try (InputStream bytecode = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+            if (bytecode == null) return null;
+
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytecode.readAllBytes()));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watchService == null) return;
+
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        watchService = null;
+    }
+}
@@ -0,0 +1,86 @@
+// The async iterators streaming and paginated endpoints are read with, nothing is buffered beyond the current chunk or page
+public final class StreamingRuntime {
+    // runtime module next to the api files, without the .ts extension
+    public static final String RUNTIME_MODULE = "spring2ts-stream";
+
+    private StreamingRuntime() {
+    }
+
+    public static String renderRuntime() {
+        return """
+                const open = async (response: Promise<Response>): Promise<ReadableStream<Uint8Array>> => {
+                \tconst opened = await response;
+                \tif (!opened.ok || !opened.body) throw new Error(`${opened.url} failed with status ${opened.status}`);
+
+                \treturn opened.body;
+                };
+
+                // breaking out of a for await loop cancels the request
+                export async function* readChunks(response: Promise<Response>): AsyncGenerator<Uint8Array> {
+                \tconst reader = (await open(response)).getReader();
+                \ttry {
+                \t\tfor (let chunk = await reader.read(); !chunk.done; chunk = await reader.read()) yield chunk.value;
+                \t} finally {
+                \t\tawait reader.cancel();
+                \t}
+                }
+
+                async function* readLines(response: Promise<Response>): AsyncGenerator<string> {
+                \tconst decoder = new TextDecoder();
+                \tlet buffer = '';
+
+                \tfor await (const chunk of readChunks(response)) {
+                \t\tbuffer += decoder.decode(chunk, { stream: true });
+
+                \t\t// a \\r at the end of the chunk may be the first half of a \\r\\n
+                \t\tconst complete = buffer.endsWith('\\r') ? buffer.slice(0, -1) : buffer;
+                \t\tconst lines = complete.split(/\\r\\n|\\r|\\n/);
+                \t\tbuffer = lines.pop()! + buffer.slice(complete.length);
+                \t\tyield* lines;
+                \t}
+
+                \tbuffer += decoder.decode();
+                \tif (buffer) yield buffer;
+                }
+
+                const parse = <T>(data: string): T => {
+                \ttry {
+                \t\treturn JSON.parse(data) as T;
+                \t} catch {
+                \t\treturn data as T;
+                \t}
+                };
+
+                // the data of every text/event-stream event, parsed as JSON when it is JSON
+                export async function* readEvents<T>(response: Promise<Response>): AsyncGenerator<T> {
+                \tlet data: string[] = [];
+
+                \tfor await (const line of readLines(response)) {
+                \t\tif (line === '') {
+                \t\t\tif (data.length > 0) yield parse<T>(data.join('\\n'));
+                \t\t\tdata = [];
+                \t\t} else if (line.startsWith('data:')) {
+                \t\t\tdata.push(line.slice(line.startsWith('data: ') ? 6 : 5));
+                \t\t}
+                \t}
+
+                \tif (data.length > 0) yield parse<T>(data.join('\\n'));
+                }
+
+                export async function* readJsonLines<T>(response: Promise<Response>): AsyncGenerator<T> {
+                \tfor await (const line of readLines(response)) {
+                \t\tif (line.trim()) yield JSON.parse(line) as T;
+                \t}
+                }
+
+                // the next page is only requested once every element of the previous one is consumed
+                export async function* paginate<T>(load: (page: number) => Promise<{ content: Array<T>, last: boolean, empty: boolean }>): AsyncGenerator<T> {
+                \tfor (let page = 0; ; page++) {
+                \t\tconst slice = await load(page);
+                \t\tyield* slice.content;
+                \t\tif (slice.last || slice.empty) return;
+                \t}
+                }
+                """;
+    }
+}
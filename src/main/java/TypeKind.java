@@ -0,0 +1,8 @@
+public enum TypeKind {
+    // a TypeScript interface with fields
+    INTERFACE,
+    // a TypeScript string enum
+    ENUM,
+    // a TypeScript union of the permitted subclasses of a sealed type
+    UNION
+}
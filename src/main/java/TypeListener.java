@@ -0,0 +1,6 @@
+// Receives every interface, enum and union the TypeScriptInterfaceGenerator renders, also the unchanged ones of an
+// incremental run, e.g. to generate code for the same types in another language
+public interface TypeListener {
+
+    void onTypeRendered(Class<?> type, ApiSchema.TypeDefinition definition);
+}
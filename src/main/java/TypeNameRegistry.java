@@ -0,0 +1,137 @@
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Names every generated type. A type is identified by its fully qualified name and its fields, so the same DTO loaded by
+// several services ends up in one file, while a different type with a taken simple name is namespaced by its package
+public class TypeNameRegistry {
+    private final Map<Class<?>, String> namesByClass = new ConcurrentHashMap<>();
+    private final Map<String, String> namesByIdentity = new HashMap<>();
+    private final Map<String, String> identitiesByName = new HashMap<>();
+    // the fully qualified names that have an identity, to tell another version of a class from a different class
+    private final Set<String> claimedClassNames = new HashSet<>();
+    private volatile GenerationListener listener = new ConsoleGenerationListener();
+
+    public TypeNameRegistry() {
+        // the Spring Data interfaces are always written to Page.ts and Slice.ts
+        getName(Slice.class);
+        getName(Page.class);
+    }
+
+    // told about the types that are generated under another name than their simple name
+    public void setListener(GenerationListener listener) {
+        this.listener = listener;
+    }
+
+    public String getName(Class<?> type) {
+        final String name = namesByClass.get(type);
+        if (name != null) return name;
+
+        return claimName(type);
+    }
+
+    // in the order of the fully qualified names instead of the order the types are met in, which differs between JVMs and
+    // threads, so the class that keeps the simple name is always the same one
+    public synchronized void claimNames(Collection<Class<?>> types) {
+        final Map<String, Class<?>> typesByIdentity = new TreeMap<>();
+        types.stream().filter(type -> !namesByClass.containsKey(type)).forEach(type -> typesByIdentity.putIfAbsent(identify(type), type));
+        typesByIdentity.forEach((identity, type) -> claimName(type, identity));
+    }
+
+    private synchronized String claimName(Class<?> type) {
+        // another class loader may have loaded the same type already
+        return claimName(type, identify(type));
+    }
+
+    private synchronized String claimName(Class<?> type, String identity) {
+        String name = namesByIdentity.get(identity);
+
+        if (name == null) {
+            // the same fully qualified name with different fields, e.g. two services on different versions of a DTO library, is numbered
+            if (!claimedClassNames.contains(type.getName())) name = getCandidateNames(type).stream().filter(candidate -> !identitiesByName.containsKey(candidate)).findFirst().orElse(null);
+
+            for (int i = 2; name == null; i++) {
+                if (!identitiesByName.containsKey(type.getSimpleName() + i)) name = type.getSimpleName() + i;
+            }
+
+            namesByIdentity.put(identity, name);
+            identitiesByName.put(name, identity);
+            claimedClassNames.add(type.getName());
+
+            if (!name.equals(type.getSimpleName()))
+                listener.onMessage("Spring2TS generates " + type.getName() + " as " + name + ", " + type.getSimpleName() + " is already taken");
+        }
+
+        namesByClass.put(type, name);
+        return name;
+    }
+
+    // frees the name of a type that changed, so its new structure gets the same name instead of a namespaced one
+    public synchronized void release(String name) {
+        final String identity = identitiesByName.remove(name);
+        if (identity == null) return;
+
+        namesByIdentity.remove(identity);
+        namesByClass.values().removeIf(name::equals);
+        final String className = identity.substring(0, identity.lastIndexOf('@'));
+        if (namesByIdentity.keySet().stream().noneMatch(other -> other.startsWith(className + "@"))) claimedClassNames.remove(className);
+    }
+
+    // the names stay claimed, only the classes are no longer referenced, e.g. after a restart loaded them again
+    public void releaseClasses() {
+        namesByClass.clear();
+    }
+
+    // the fully qualified name and a hash of the fields, e.g. com.acme.UserDto@1f3a5c7e9b2d4f60
+    private static String identify(Class<?> type) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        if (type.isEnum()) {
+            for (Object enumConstant : type.getEnumConstants()) {
+                digest.update((enumConstant + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        for (Field field : type.getDeclaredFields()) {
+            digest.update((field.toGenericString() + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        return type.getName() + "@" + HexFormat.of().formatHex(digest.digest(), 0, 8);
+    }
+
+    // the simple name, then prefixed with more and more of the package, e.g. UserDto, BillingUserDto, AcmeBillingUserDto
+    private static List<String> getCandidateNames(Class<?> type) {
+        final List<String> candidateNames = new ArrayList<>();
+        candidateNames.add(type.getSimpleName());
+
+        final String[] packageSegments = type.getPackageName().split("\\.");
+        String prefix = "";
+        for (int i = packageSegments.length - 1; i >= 0; i--) {
+            if (packageSegments[i].isEmpty()) continue;
+
+            prefix = Character.toUpperCase(packageSegments[i].charAt(0)) + packageSegments[i].substring(1) + prefix;
+            candidateNames.add(prefix + type.getSimpleName());
+        }
+
+        return candidateNames;
+    }
+}
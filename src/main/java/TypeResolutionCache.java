@@ -0,0 +1,45 @@
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+public class TypeResolutionCache {
+    private final Map<Type, TypeScriptType> resolvedTypes = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public TypeScriptType get(Type type) {
+        final TypeScriptType resolved = resolvedTypes.get(type);
+        if (resolved != null) hits.incrementAndGet();
+
+        return resolved;
+    }
+
+    // returns the instance that ended up in the cache, another thread may have resolved the same type first. Only the
+    // resolution that is kept counts as a miss, so a type that several threads resolved at once is counted once
+    public TypeScriptType put(Type type, TypeScriptType resolved) {
+        final TypeScriptType existing = resolvedTypes.putIfAbsent(type, resolved);
+        if (existing == null) misses.incrementAndGet();
+        else hits.incrementAndGet();
+
+        return existing == null ? resolved : existing;
+    }
+
+    // e.g. every resolution that mentions a class whose bytecode changed
+    public void evictIf(Predicate<TypeScriptType> predicate) {
+        resolvedTypes.values().removeIf(predicate);
+    }
+
+    public void clear() {
+        resolvedTypes.clear();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -1,68 +1,298 @@
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Transient;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 
-import java.io.IOException;
 import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.lang.reflect.WildcardType;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 
 public class TypeScriptInterfaceGenerator {
-
-    private final Set<String> generatedInterfaces = new HashSet<>();
+    // the JSON shape of SliceImpl and PageImpl
+    private static final ApiSchema.TypeDefinition SLICE = new ApiSchema.TypeDefinition("Slice", TypeKind.INTERFACE, List.of("T"), null, List.of(
+            new ApiSchema.Field("content", "Array<T>"),
+            new ApiSchema.Field("number", "number"),
+            new ApiSchema.Field("size", "number"),
+            new ApiSchema.Field("numberOfElements", "number"),
+            new ApiSchema.Field("first", "boolean"),
+            new ApiSchema.Field("last", "boolean"),
+            new ApiSchema.Field("empty", "boolean"),
+            new ApiSchema.Field("sort", "{ sorted: boolean, unsorted: boolean, empty: boolean }")), List.of(), List.of());
+    private static final ApiSchema.TypeDefinition PAGE = new ApiSchema.TypeDefinition("Page", TypeKind.INTERFACE, List.of("T"), "Slice<T>", List.of(
+            new ApiSchema.Field("totalElements", "number"),
+            new ApiSchema.Field("totalPages", "number")), List.of(), List.of());
+
+    // claimed through add() so two threads never render the same type, by TypeScript name
+    private final Set<String> generatedInterfaces = ConcurrentHashMap.newKeySet();
+    // the class names behind the generated interfaces and enums, so they can be evicted when they change, the classes themselves are not kept
+    private final Map<String, String> generatedTypes = new ConcurrentHashMap<>();
+    // what the generated files were rendered from, by TypeScript name, only kept for the schema
+    private final Map<String, ApiSchema.TypeDefinition> typeDefinitions = new ConcurrentHashMap<>();
+    private volatile boolean recordTypeDefinitions;
     private final List<String> packagesToScan;
+    private final PackageFilter packageFilter;
+    private final TypeResolutionCache resolutionCache = new TypeResolutionCache();
+    private final TypeNameRegistry typeNames = new TypeNameRegistry();
+    private final LongAdder renderingNanos = new LongAdder();
+    // the scanned classes that were resolved but not rendered yet. Every thread renders its own one after the other, so a
+    // long chain or a cycle of types never recurses deeper than the type arguments of a single field
+    private final ThreadLocal<Deque<Class<?>>> pendingTypes = ThreadLocal.withInitial(ArrayDeque::new);
+    private final List<TypeListener> typeListeners = new CopyOnWriteArrayList<>();
+    private OutputSink outputSink;
+    private FingerprintCache fingerprintCache;
 
     public TypeScriptInterfaceGenerator(List<String> packagesToScan) {
+        this(packagesToScan, new FileSystemOutputSink(Paths.get("ts")));
+    }
+
+    public TypeScriptInterfaceGenerator(List<String> packagesToScan, OutputSink outputSink) {
         this.packagesToScan = packagesToScan;
+        this.packageFilter = new PackageFilter(packagesToScan);
+        this.outputSink = outputSink;
+    }
+
+    public OutputSink getOutputSink() {
+        return outputSink;
+    }
+
+    public void setOutputSink(OutputSink outputSink) {
+        this.outputSink = outputSink;
+    }
+
+    public void setFingerprintCache(FingerprintCache fingerprintCache) {
+        this.fingerprintCache = fingerprintCache;
+    }
+
+    public void setListener(GenerationListener listener) {
+        typeNames.setListener(listener);
     }
 
     public Set<String> getGeneratedInterfaces() {
         return generatedInterfaces;
     }
 
+    public Map<String, String> getGeneratedTypes() {
+        return Collections.unmodifiableMap(generatedTypes);
+    }
+
+    public Map<String, ApiSchema.TypeDefinition> getTypeDefinitions() {
+        return Collections.unmodifiableMap(typeDefinitions);
+    }
+
+    // e.g. a JacksonSerializerGenerator, called for every rendered type while its class is at hand
+    public void addTypeListener(TypeListener typeListener) {
+        typeListeners.add(typeListener);
+    }
+
+    public void removeTypeListener(TypeListener typeListener) {
+        typeListeners.remove(typeListener);
+    }
+
+    // the definitions are only needed to write a schema, large type graphs are not held in memory otherwise
+    public void setRecordTypeDefinitions(boolean recordTypeDefinitions) {
+        this.recordTypeDefinitions = recordTypeDefinitions;
+    }
+
+    // drops every reference to the classes, e.g. after a restart or in the low memory mode, the names and fingerprints stay
+    public void releaseClasses() {
+        resolutionCache.clear();
+        typeNames.releaseClasses();
+    }
+
+    // the evicted types are rendered again the next time they are resolved
+    public void evict(Collection<String> names) {
+        if (names.isEmpty()) return;
+
+        final Set<String> evictedClassNames = new HashSet<>();
+        names.forEach(name -> {
+            generatedInterfaces.remove(name);
+            typeDefinitions.remove(name);
+            final String evictedClassName = generatedTypes.remove(name);
+            if (evictedClassName != null) evictedClassNames.add(evictedClassName);
+            typeNames.release(name);
+        });
+
+        // a cached resolution would skip the rendering, so everything that mentions an evicted type is resolved again
+        resolutionCache.evictIf(tsType -> tsType.getJavaTypes().stream()
+                .anyMatch(javaType -> javaType instanceof Class<?> classType && evictedClassNames.contains(classType.getName())));
+    }
+
     public List<String> getPackagesToScan() {
         return packagesToScan;
     }
 
+    public PackageFilter getPackageFilter() {
+        return packageFilter;
+    }
+
+    public TypeResolutionCache getResolutionCache() {
+        return resolutionCache;
+    }
+
+    public TypeNameRegistry getTypeNames() {
+        return typeNames;
+    }
+
+    // time spent assembling interfaces and enums, without resolving the types of their fields
+    public Duration getRenderingTime() {
+        return Duration.ofNanos(renderingNanos.sum());
+    }
+
     private boolean shouldScanPackage(String packageName) {
-        return packagesToScan.stream().anyMatch(packageName::startsWith);
+        return packageFilter.matches(packageName);
     }
 
 
-    public void generateTsInterface(Class<?> returnType) {
-        if (generatedInterfaces.contains(returnType.getSimpleName())) {
+    // renders the interface of the type and of every type it refers to
+    public void generateTsInterface(Class<?> type) {
+        renderTsType(type);
+        renderPendingTypes();
+    }
+
+    private void renderPendingTypes() {
+        final Deque<Class<?>> pending = pendingTypes.get();
+        for (Class<?> type = pending.poll(); type != null; type = pending.poll()) {
+            renderTsType(type);
+        }
+    }
+
+    // an interface, or a union of the permitted subclasses of a sealed type
+    private void renderTsType(Class<?> type) {
+        final String typeName = typeNames.getName(type);
+        if (!generatedInterfaces.add(typeName)) {
             return;
         }
+        generatedTypes.put(typeName, type.getName());
+
+        // the field types are resolved even when the file turns out to be unchanged, they may point to types that did change
+        final Set<String> importedTypes = new TreeSet<>();
+        final List<String> typeParameters = Arrays.stream(type.getTypeParameters()).map(TypeVariable::getName).toList();
+        final ApiSchema.TypeDefinition definition = type.isSealed()
+                ? new ApiSchema.TypeDefinition(typeName, TypeKind.UNION, typeParameters, null, List.of(), List.of(), resolveMembers(type, typeName, importedTypes))
+                : new ApiSchema.TypeDefinition(typeName, TypeKind.INTERFACE, typeParameters, null, resolveFields(type, typeName, importedTypes), List.of(), List.of());
+        if (recordTypeDefinitions) typeDefinitions.put(typeName, definition);
+        typeListeners.forEach(typeListener -> typeListener.onTypeRendered(type, definition));
+
+        final String filePath = typeName + ".ts";
+        if (isUnchanged(type, definition, importedTypes, filePath)) return;
+
+        // the imports are only known after all fields are resolved, so the file is assembled at the end
+        final long renderingStart = System.nanoTime();
+        outputSink.write(filePath, renderTypeDefinition(definition, importedTypes));
+        renderingNanos.add(System.nanoTime() - renderingStart);
+    }
+
+    // the fields Jackson serializes, the components of a record are its fields as well
+    public static List<Field> getSerializedFields(Class<?> type) {
+        return Arrays.stream(type.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
+                .filter(field -> field.getAnnotation(JsonIgnore.class) == null && field.getAnnotation(Transient.class) == null)
+                .toList();
+    }
+
+    private List<ApiSchema.Field> resolveFields(Class<?> type, String typeName, Set<String> importedTypes) {
+        final List<ApiSchema.Field> fields = new ArrayList<>();
+
+        for (Field field : getSerializedFields(type)) {
+            final TypeScriptType tsType = resolve(field.getGenericType());
+            fields.add(new ApiSchema.Field(field.getName(), tsType.getTsType(), field.getType().isPrimitive()));
+
+            tsType.collectImportedTypes(typeName, packageFilter, typeNames, importedTypes);
+        }
+
+        return fields;
+    }
+
+    private List<String> resolveMembers(Class<?> sealedType, String typeName, Set<String> importedTypes) {
+        final List<String> members = new ArrayList<>();
+
+        for (Class<?> permittedSubclass : sealedType.getPermittedSubclasses()) {
+            final TypeScriptType tsType = resolve(permittedSubclass);
+            tsType.collectImportedTypes(typeName, packageFilter, typeNames, importedTypes);
+
+            if (permittedSubclass.getTypeParameters().length == 0) {
+                members.add(tsType.getTsType());
+                continue;
+            }
+
+            // e.g. Ok<T> of Result<T>, a parameter the sealed type does not pass on is any
+            final Map<TypeVariable<?>, String> passedParameters = getPassedParameters(permittedSubclass, sealedType);
+            final StringJoiner member = new StringJoiner(", ", typeNames.getName(permittedSubclass) + "<", ">");
+            Arrays.stream(permittedSubclass.getTypeParameters()).forEach(typeParameter -> member.add(passedParameters.getOrDefault(typeParameter, "any")));
+            members.add(member.toString());
+        }
+
+        return members;
+    }
 
-        generatedInterfaces.add(returnType.getSimpleName());
+    // the parameters of the subclass that are passed as a type parameter of the sealed type, by the name in the sealed type
+    private static Map<TypeVariable<?>, String> getPassedParameters(Class<?> subclass, Class<?> sealedType) {
+        final Map<TypeVariable<?>, String> passedParameters = new HashMap<>();
 
-        StringBuilder tsInterface = new StringBuilder("export interface " + javaTypeToTsType(returnType).getTsType() + " {\n");
+        final List<Type> superTypes = new ArrayList<>(Arrays.asList(subclass.getGenericInterfaces()));
+        superTypes.add(subclass.getGenericSuperclass());
+        for (Type superType : superTypes) {
+            if (!(superType instanceof ParameterizedType parameterizedType) || parameterizedType.getRawType() != sealedType) continue;
 
-        for (Field field : returnType.getDeclaredFields()) {
-            if (field.getAnnotation(JsonIgnore.class) != null || field.getAnnotation(Transient.class) != null) continue;
+            final Type[] typeArguments = parameterizedType.getActualTypeArguments();
+            for (int i = 0; i < typeArguments.length; i++) {
+                if (typeArguments[i] instanceof TypeVariable<?> typeVariable)
+                    passedParameters.putIfAbsent(typeVariable, sealedType.getTypeParameters()[i].getName());
+            }
+        }
+
+        return passedParameters;
+    }
 
-            TypeScriptType tsType = javaTypeToTsType(field.getGenericType());
-            tsInterface.append("\t").append(field.getName()).append(": ").append(tsType.getTsType()).append(";\n");
+    public static String renderTypeDefinition(ApiSchema.TypeDefinition definition, Set<String> importedTypes) {
+        final StringBuilder tsType = new StringBuilder();
 
-            tsInterface.insert(0, tsType.generateImportStatement(returnType.getSimpleName(), packagesToScan));
+        if (definition.kind() == TypeKind.ENUM) {
+            tsType.append("export enum ").append(definition.name()).append(" {\n");
+            for (String constant : definition.constants()) {
+                tsType.append("\t").append(constant).append(" = ").append("\"").append(constant).append("\"").append(",\n");
+            }
+            return tsType.append("}\n").toString();
+        }
+
+        for (String importedType : importedTypes) {
+            tsType.append("import type {").append(importedType).append("} from './").append(importedType).append("';\n");
         }
 
-        tsInterface.append("}\n");
+        final String typeParameters = definition.typeParameters().isEmpty() ? "" : "<" + String.join(", ", definition.typeParameters()) + ">";
 
-        Path filePath = Paths.get("./ts/" + returnType.getSimpleName() + ".ts");
-        try {
-            Files.createDirectories(filePath.getParent());
-            Files.writeString(filePath, tsInterface.toString(), StandardCharsets.UTF_8);
+        if (definition.kind() == TypeKind.UNION) {
+            final String members = definition.members().isEmpty() ? "never" : String.join(" | ", definition.members());
+            return tsType.append("export type ").append(definition.name()).append(typeParameters).append(" = ").append(members).append(";\n").toString();
+        }
+
+        tsType.append("export interface ").append(definition.name()).append(typeParameters);
+        if (definition.superType() != null) tsType.append(" extends ").append(definition.superType());
+        tsType.append(" {\n");
 
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        for (ApiSchema.Field field : definition.fields()) {
+            tsType.append("\t").append(field.name()).append(": ").append(field.type()).append(";\n");
         }
+
+        return tsType.append("}\n").toString();
+    }
+
+    private boolean isUnchanged(Class<?> type, ApiSchema.TypeDefinition definition, Set<String> importedTypes, String filePath) {
+        if (fingerprintCache == null) return false;
+
+        // keyed by file, two versions of the same class from different services are written to different files
+        return fingerprintCache.isUnchanged(filePath, fingerprintCache.fingerprint(type, definition, importedTypes)) && outputSink.exists(filePath);
     }
 
     private String getTsPrimitiveType(Class<?> classType) {
@@ -81,79 +311,127 @@ public class TypeScriptInterfaceGenerator {
         }
     }
 
+    // resolves the type and renders every interface it refers to
     public TypeScriptType javaTypeToTsType(Type type) {
+        final TypeScriptType tsType = resolve(type);
+        renderPendingTypes();
+        return tsType;
+    }
+
+    // names every enum and scanned class the types refer to before any of them is resolved, see TypeNameRegistry.claimNames
+    public void claimNames(Collection<? extends Type> types) {
+        final Set<Class<?>> namedTypes = new HashSet<>();
+        final Set<Type> visitedTypes = new HashSet<>();
+        final Deque<Type> pending = new ArrayDeque<>(types);
+
+        for (Type type = pending.poll(); type != null; type = pending.poll()) {
+            if (!visitedTypes.add(type)) continue;
+
+            if (type instanceof Class<?> classType) {
+                if (classType.isArray()) {
+                    pending.add(classType.getComponentType());
+                } else if (classType.isEnum()) {
+                    namedTypes.add(classType);
+                } else if (!classType.isPrimitive() && !Slice.class.isAssignableFrom(classType) && shouldScanPackage(classType.getPackageName())) {
+                    namedTypes.add(classType);
+                    getSerializedFields(classType).forEach(field -> pending.add(field.getGenericType()));
+                    if (classType.isSealed()) pending.addAll(Arrays.asList(classType.getPermittedSubclasses()));
+                }
+            } else if (type instanceof ParameterizedType parameterizedType) {
+                pending.add(parameterizedType.getRawType());
+                pending.addAll(Arrays.asList(parameterizedType.getActualTypeArguments()));
+            } else if (type instanceof GenericArrayType genericArrayType) {
+                pending.add(genericArrayType.getGenericComponentType());
+            } else if (type instanceof WildcardType wildcardType) {
+                pending.addAll(Arrays.asList(wildcardType.getLowerBounds()));
+                pending.addAll(Arrays.asList(wildcardType.getUpperBounds()));
+            }
+        }
+
+        typeNames.claimNames(namedTypes);
+    }
+
+    // every distinct type, e.g. Map<String, List<Page<Tree<Node>>>>, is resolved once, the interfaces it refers to are
+    // queued instead of rendered
+    private TypeScriptType resolve(Type type) {
+        final TypeScriptType cached = resolutionCache.get(type);
+        if (cached != null) return cached;
+
+        return resolutionCache.put(type, resolveTsType(type));
+    }
+
+    private TypeScriptType resolveTsType(Type type) {
         if (type instanceof Class<?> classType) {
             // Handle primitive types and their wrapper classes
             if (classType.isPrimitive() || classType == String.class || Number.class.isAssignableFrom(classType) || classType == Boolean.class) {
                 return new TypeScriptType(Collections.singletonList(classType), getTsPrimitiveType(classType));
             }
+            // an empty Optional is written as null
+            else if (classType == OptionalInt.class || classType == OptionalLong.class || classType == OptionalDouble.class) {
+                return new TypeScriptType(Collections.singletonList(classType), "number | null");
+            }
             // Handle arrays
             else if (classType.isArray()) {
-                TypeScriptType componentType = javaTypeToTsType(classType.getComponentType());
-                return new TypeScriptType(Collections.singletonList(classType), "Array<" + componentType.getTsType() + ">");
+                TypeScriptType componentType = resolve(classType.getComponentType());
+                return new TypeScriptType(componentType.getJavaTypes(), "Array<" + componentType.getTsType() + ">");
+            }
+            else if (Slice.class.isAssignableFrom(classType)) {
+                final Class<?> springDataType = generateSpringDataInterface(classType);
+                return new TypeScriptType(Collections.singletonList(springDataType), springDataType.getSimpleName() + "<any>");
             }
             // Handle enums
             else if (classType.isEnum()) {
                 generateTsEnum(classType);
-                return new TypeScriptType(Collections.singletonList(classType), classType.getSimpleName());
+                return new TypeScriptType(Collections.singletonList(classType), typeNames.getName(classType));
             }
 
             else {
                 Package classPackage = classType.getPackage();
 
                 if (classPackage != null && shouldScanPackage(classPackage.getName())) {
+                    pendingTypes.get().add(classType);
 
-                    generateTsInterface(classType);
-                    // check if classType has a generic type
+                    // a generic class referred to without type arguments keeps its own parameters
                     if (classType.getTypeParameters().length > 0) {
+                        final StringJoiner genericTypes = new StringJoiner(", ", typeNames.getName(classType) + "<", ">");
+                        Arrays.stream(classType.getTypeParameters()).forEach(typeParameter -> genericTypes.add(typeParameter.getName()));
 
-                        // map the generic types to strings
-                        List<String> genericTypes = Arrays.stream(classType.getTypeParameters()).map(TypeVariable::getName).toList();
-                        final String genericTypeString = genericTypes.stream().reduce((s1, s2) -> s1 + ", " + s2).orElse("");
-
-
-                        return new TypeScriptType(Collections.singletonList(classType), classType.getSimpleName() + "<" + genericTypeString + ">");
+                        return new TypeScriptType(Collections.singletonList(classType), genericTypes.toString());
                     } else {
-                        return new TypeScriptType(Collections.singletonList(classType), classType.getSimpleName());
+                        return new TypeScriptType(Collections.singletonList(classType), typeNames.getName(classType));
                     }
                 }
             }
-        } else if (type instanceof ParameterizedType parameterizedType) {
-
-            // check if the raw type is a map
-            if(parameterizedType.getRawType() == Map.class) {
-
-                String tsType = "Map<";
-                final List<TypeScriptType> types = Arrays.stream(parameterizedType.getActualTypeArguments()).map(this::javaTypeToTsType).toList();
+        } else if (type instanceof ParameterizedType parameterizedType && parameterizedType.getRawType() instanceof Class<?> rawClass) {
+            final Type[] typeArguments = parameterizedType.getActualTypeArguments();
 
-                final List<Type> javaTypes = new ArrayList<>(types.stream().flatMap(t -> t.getJavaTypes().stream()).toList());
-
-
-                return getTypeScriptType(javaTypes, tsType, types);
+            // Page and Slice of Spring Data get their own interfaces, whatever implementation is returned
+            if (Slice.class.isAssignableFrom(rawClass)) {
+                final Class<?> springDataType = generateSpringDataInterface(rawClass);
+                return parameterize(List.of(springDataType), springDataType.getSimpleName(), typeArguments);
             }
 
-            if(parameterizedType.getRawType() == List.class || parameterizedType.getRawType() == Set.class || parameterizedType.getRawType() == Collection.class){
-
-                final List<Type> javaTypes = new ArrayList<>();
-                String tsType = "Array<";
-                final List<TypeScriptType> types = Arrays.stream(parameterizedType.getActualTypeArguments()).map(this::javaTypeToTsType).toList();
-
-                return getTypeScriptType(javaTypes, tsType, types);
+            if (rawClass == Optional.class) {
+                final TypeScriptType valueType = resolve(typeArguments[0]);
+                return new TypeScriptType(valueType.getJavaTypes(), valueType.getTsType() + " | null");
             }
 
-            if (shouldScanPackage(parameterizedType.getRawType().getTypeName())) {
-
-                // create the interface for the parameterized type
-                if (parameterizedType.getRawType() instanceof Class<?> rawClass) {
-                    final List<Type> javaTypes = new ArrayList<>();
-                    String tsType = rawClass.getSimpleName() +"<";
-                    final List<TypeScriptType> types = Arrays.stream(parameterizedType.getActualTypeArguments()).map(this::javaTypeToTsType).toList();
-
-                    return getTypeScriptType(javaTypes, tsType, types);
-                }
-
+            // HashMap, TreeMap, ConcurrentHashMap, ... are written like any Map, and every collection as an array
+            if (rawClass.getPackageName().startsWith("java.util")) {
+                if (Map.class.isAssignableFrom(rawClass)) return parameterize(List.of(), "Map", typeArguments);
+                if (Collection.class.isAssignableFrom(rawClass)) return parameterize(List.of(), "Array", typeArguments);
+            }
 
+            // resolving the raw class queues its interface, and the interface has to be imported as well
+            if (shouldScanPackage(rawClass.getName())) {
+                return parameterize(resolve(rawClass).getJavaTypes(), typeNames.getName(rawClass), typeArguments);
             }
+        } else if (type instanceof GenericArrayType genericArrayType) {
+            final TypeScriptType componentType = resolve(genericArrayType.getGenericComponentType());
+            return new TypeScriptType(componentType.getJavaTypes(), "Array<" + componentType.getTsType() + ">");
+        } else if (type instanceof WildcardType wildcardType) {
+            // ? super User accepts a User, ? extends User and ? are read as their upper bound
+            return resolve(wildcardType.getLowerBounds().length > 0 ? wildcardType.getLowerBounds()[0] : wildcardType.getUpperBounds()[0]);
         }
 
         if (type instanceof TypeVariable<?> typeVariable)
@@ -162,38 +440,57 @@ public class TypeScriptInterfaceGenerator {
         return new TypeScriptType(new ArrayList<>(), "any");
     }
 
-    private TypeScriptType getTypeScriptType(List<Type> javaTypes, String tsType, List<TypeScriptType> types) {
-        javaTypes.addAll(types.stream().flatMap(t -> t.getJavaTypes().stream()).toList());
+    // e.g. Map<string, Array<User>>, the Java types of the arguments are imported along with the given ones
+    private TypeScriptType parameterize(List<Type> javaTypes, String name, Type[] typeArguments) {
+        final Set<Type> parameterizedJavaTypes = new LinkedHashSet<>(javaTypes);
+        final StringJoiner tsType = new StringJoiner(", ", name + "<", ">");
 
-        for (TypeScriptType childType : types) {
-            tsType += childType.getTsType() + ", ";
+        for (Type typeArgument : typeArguments) {
+            final TypeScriptType argumentType = resolve(typeArgument);
+            parameterizedJavaTypes.addAll(argumentType.getJavaTypes());
+            tsType.add(argumentType.getTsType());
         }
-        tsType = tsType.substring(0, tsType.length() - 2) + ">";
 
-        return new TypeScriptType(javaTypes, tsType);
+        return new TypeScriptType(new ArrayList<>(parameterizedJavaTypes), tsType.toString());
     }
 
-    private void generateTsEnum(Class<?> enumClass) {
-        if (generatedInterfaces.contains(enumClass.getSimpleName()))
-            return;
+    // imported like the interfaces of the scanned packages
+    public static boolean isSpringDataInterface(Class<?> type) {
+        return type == Page.class || type == Slice.class;
+    }
 
-        generatedInterfaces.add(enumClass.getSimpleName());
+    private Class<?> generateSpringDataInterface(Class<?> type) {
+        if (generatedInterfaces.add(SLICE.name())) {
+            if (recordTypeDefinitions) typeDefinitions.put(SLICE.name(), SLICE);
+            outputSink.write("Slice.ts", renderTypeDefinition(SLICE, Set.of()));
+        }
 
-        StringBuilder tsEnum = new StringBuilder("export enum " + enumClass.getSimpleName() + " {\n");
+        if (!Page.class.isAssignableFrom(type)) return Slice.class;
 
-        for (Object enumConstant : enumClass.getEnumConstants()) {
-            tsEnum.append("\t").append(enumConstant.toString()).append(" = ").append("\"").append(enumConstant).append("\"").append(",\n");
+        if (generatedInterfaces.add(PAGE.name())) {
+            if (recordTypeDefinitions) typeDefinitions.put(PAGE.name(), PAGE);
+            outputSink.write("Page.ts", renderTypeDefinition(PAGE, Set.of(SLICE.name())));
         }
 
-        tsEnum.append("}\n");
+        return Page.class;
+    }
+
+    private void generateTsEnum(Class<?> enumClass) {
+        final String typeName = typeNames.getName(enumClass);
+        if (!generatedInterfaces.add(typeName))
+            return;
+        generatedTypes.put(typeName, enumClass.getName());
 
-        Path filePath = Paths.get("./ts/" + enumClass.getSimpleName() + ".ts");
-        try {
-            Files.createDirectories(filePath.getParent());
-            Files.writeString(filePath, tsEnum.toString(), StandardCharsets.UTF_8);
+        final List<String> constants = Arrays.stream(enumClass.getEnumConstants()).map(Object::toString).toList();
+        final ApiSchema.TypeDefinition definition = new ApiSchema.TypeDefinition(typeName, TypeKind.ENUM, List.of(), null, List.of(), constants, List.of());
+        if (recordTypeDefinitions) typeDefinitions.put(typeName, definition);
+        typeListeners.forEach(typeListener -> typeListener.onTypeRendered(enumClass, definition));
 
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        final String filePath = typeName + ".ts";
+        if (isUnchanged(enumClass, definition, Set.of(), filePath)) return;
+
+        final long renderingStart = System.nanoTime();
+        outputSink.write(filePath, renderTypeDefinition(definition, Set.of()));
+        renderingNanos.add(System.nanoTime() - renderingStart);
     }
 }
@@ -1,14 +1,14 @@
 import java.lang.reflect.Type;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+// immutable, resolved instances are shared through the TypeResolutionCache
 public class TypeScriptType {
     private final List<Type> javaTypes;
     private final String tsType;
 
     public TypeScriptType(List<Type> javaTypes, String tsType) {
-        this.javaTypes = javaTypes;
+        this.javaTypes = List.copyOf(javaTypes);
         this.tsType = tsType;
     }
 
@@ -20,27 +20,16 @@ public class TypeScriptType {
         return javaTypes;
     }
 
-    private boolean shouldScanPackage(List<String> packagesToScan, String packageName) {
-        return packagesToScan.stream().anyMatch(packageName::startsWith);
-    }
-
-    public String generateImportStatement(String currentClassName, List<String> packagesToScan) {
-        StringBuilder importStatements = new StringBuilder();
-        Set<String> importedTypes = new HashSet<>();
+    // the names of the generated types this type refers to, other than the current one
+    public void collectImportedTypes(String currentClassName, PackageFilter packageFilter, TypeNameRegistry typeNames, Set<String> importedTypes) {
         for (Type javaType : javaTypes) {
             if (javaType instanceof Class<?> classType) {
-                String typeName = classType.getSimpleName();
-                if (!importedTypes.contains(typeName) && !typeName.equals(currentClassName)) {
-                    Package classPackage = classType.getPackage();
-                    if (classPackage != null && shouldScanPackage(packagesToScan, classPackage.getName())) {
-                        importStatements.append("import type {").append(typeName).append("} from './").append(typeName).append("';\n");
-
-                        importedTypes.add(typeName);
-                    }
+                Package classPackage = classType.getPackage();
+                if (classPackage != null && (packageFilter.matches(classPackage.getName()) || TypeScriptInterfaceGenerator.isSpringDataInterface(classType))) {
+                    String typeName = typeNames.getName(classType);
+                    if (!typeName.equals(currentClassName)) importedTypes.add(typeName);
                 }
             }
         }
-        return importStatements.toString();
     }
 }
-
@@ -0,0 +1,196 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+// Type guards and decoders for the generated types, rendered from their definitions: every field is checked by a few
+// typeof and Array.isArray calls instead of a schema library. Type parameters and types outside the scanned packages are
+// not checked, e.g. isPage does not look at the elements of content
+public final class TypeScriptValidatorGenerator {
+    public static final String FILE_NAME = "validators.ts";
+
+    private TypeScriptValidatorGenerator() {
+    }
+
+    public static String render(Collection<ApiSchema.TypeDefinition> definitions) {
+        final Map<String, ApiSchema.TypeDefinition> definitionsByName = new TreeMap<>();
+        definitions.forEach(definition -> definitionsByName.put(definition.name(), definition));
+
+        final StringBuilder validators = new StringBuilder();
+        for (String name : definitionsByName.keySet()) {
+            validators.append("import type { ").append(name).append(" } from './").append(name).append("';\n");
+        }
+
+        validators.append("""
+
+                const isJsonObject = (value: unknown): value is Record<string, unknown> => typeof value === 'object' && value !== null && !Array.isArray(value);
+
+                export const decode = <T>(value: unknown, isType: (value: unknown) => value is T, name: string): T => {
+                \tif (!isType(value)) throw new TypeError(`Expected ${name}`);
+                \treturn value;
+                };
+                """);
+
+        for (ApiSchema.TypeDefinition definition : definitionsByName.values()) {
+            final String type = definition.typeParameters().isEmpty() ? definition.name()
+                    : definition.name() + "<" + String.join(", ", definition.typeParameters().stream().map(typeParameter -> "unknown").toList()) + ">";
+
+            validators.append("\nexport function is").append(definition.name()).append("(value: unknown): value is ").append(type).append(" {\n");
+            validators.append("\treturn ").append(renderCheck(definition, definitionsByName.keySet())).append(";\n}\n");
+            validators.append("\nexport const decode").append(definition.name()).append(" = (value: unknown): ").append(type)
+                    .append(" => decode(value, is").append(definition.name()).append(", '").append(definition.name()).append("');\n");
+        }
+
+        return validators.toString();
+    }
+
+    private static String renderCheck(ApiSchema.TypeDefinition definition, Set<String> typeNames) {
+        switch (definition.kind()) {
+            case ENUM -> {
+                final StringJoiner check = new StringJoiner(" || ").setEmptyValue("false");
+                definition.constants().forEach(constant -> check.add("value === '" + constant + "'"));
+                return check.toString();
+            }
+            case UNION -> {
+                final StringJoiner check = new StringJoiner(" || ").setEmptyValue("false");
+                definition.members().forEach(member -> check.add(renderCheck(TsType.parse(member), "value", typeNames, 1)));
+                return check.toString();
+            }
+            default -> {
+                final StringJoiner check = new StringJoiner("\n\t\t&& ").add("isJsonObject(value)");
+                if (definition.superType() != null) check.add(renderCheck(TsType.parse(definition.superType()), "value", typeNames, 1));
+
+                for (ApiSchema.Field field : definition.fields()) {
+                    final TsType fieldType = TsType.parse(field.type());
+                    final String fieldValue = "value['" + field.name() + "']";
+                    final String fieldCheck = renderCheck(fieldType, fieldValue, typeNames, 1);
+                    if (fieldCheck.equals("true")) continue;
+
+                    // Jackson writes null for every field but a primitive one, and leaves it out with NON_NULL inclusion
+                    if (field.primitive()) check.add(fieldCheck);
+                    else if (fieldType.acceptsNull()) check.add("(" + fieldValue + " === undefined || " + fieldCheck + ")");
+                    else check.add("(" + fieldValue + " == null || " + fieldCheck + ")");
+                }
+                return check.toString();
+            }
+        }
+    }
+
+    // depth numbers the parameters of the nested every() callbacks, true means anything is accepted
+    private static String renderCheck(TsType tsType, String value, Set<String> typeNames, int depth) {
+        switch (tsType.name()) {
+            case "|" -> {
+                final List<String> memberChecks = tsType.arguments().stream().map(member -> renderCheck(member, value, typeNames, depth)).toList();
+                return memberChecks.contains("true") ? "true" : "(" + String.join(" || ", memberChecks) + ")";
+            }
+            case "{}" -> {
+                return "isJsonObject(" + value + ")";
+            }
+            case "string", "number", "boolean" -> {
+                return "typeof " + value + " === '" + tsType.name() + "'";
+            }
+            case "null" -> {
+                return value + " === null";
+            }
+            // a Map is written as a JSON object
+            case "Array", "Map" -> {
+                final boolean array = tsType.name().equals("Array");
+                final String container = array ? "Array.isArray(" + value + ")" : "isJsonObject(" + value + ")";
+                if (tsType.arguments().isEmpty()) return container;
+
+                final String element = "v" + depth;
+                final String elementCheck = renderCheck(tsType.arguments().get(tsType.arguments().size() - 1), element, typeNames, depth + 1);
+                if (elementCheck.equals("true")) return container;
+
+                return container + " && " + (array ? value : "Object.values(" + value + ")") + ".every((" + element + ") => " + elementCheck + ")";
+            }
+            default -> {
+                return typeNames.contains(tsType.name()) ? "is" + tsType.name() + "(" + value + ")" : "true";
+            }
+        }
+    }
+
+    // the TypeScript types Spring2TS generates, e.g. Map<string, Array<User | null>>: a union is named |, an object
+    // literal {}, and the arguments of a union are its members
+    private record TsType(String name, List<TsType> arguments) {
+
+        boolean acceptsNull() {
+            return name.equals("null") || name.equals("|") && arguments.stream().anyMatch(TsType::acceptsNull);
+        }
+
+        static TsType parse(String source) {
+            final Parser parser = new Parser(source);
+            final TsType tsType = parser.parseUnion();
+            if (parser.position < source.length()) throw new IllegalArgumentException("Unexpected '" + source.charAt(parser.position) + "' in " + source);
+            return tsType;
+        }
+    }
+
+    private static final class Parser {
+        private final String source;
+        private int position;
+
+        private Parser(String source) {
+            this.source = source;
+        }
+
+        private TsType parseUnion() {
+            final List<TsType> members = new ArrayList<>();
+            members.add(parseMember());
+            while (consume('|')) {
+                members.add(parseMember());
+            }
+            return members.size() == 1 ? members.get(0) : new TsType("|", members);
+        }
+
+        private TsType parseMember() {
+            skipWhitespace();
+
+            // the fields of an object literal are not checked, only that it is an object
+            if (consume('{')) {
+                for (int nesting = 1; nesting > 0; position++) {
+                    if (position == source.length()) throw new IllegalArgumentException("Unterminated object literal in " + source);
+                    if (source.charAt(position) == '{') nesting++;
+                    else if (source.charAt(position) == '}') nesting--;
+                }
+                return new TsType("{}", List.of());
+            }
+
+            final int start = position;
+            while (position < source.length() && (Character.isJavaIdentifierPart(source.charAt(position)) || source.charAt(position) == '.')) {
+                position++;
+            }
+            if (start == position) throw new IllegalArgumentException("Expected a type at " + position + " in " + source);
+
+            final String name = source.substring(start, position);
+            final List<TsType> arguments = new ArrayList<>();
+            if (consume('<')) {
+                do {
+                    arguments.add(parseUnion());
+                } while (consume(','));
+                if (!consume('>')) throw new IllegalArgumentException("Expected '>' at " + position + " in " + source);
+            }
+
+            skipWhitespace();
+            return new TsType(name, arguments);
+        }
+
+        private boolean consume(char expected) {
+            skipWhitespace();
+            if (position < source.length() && source.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
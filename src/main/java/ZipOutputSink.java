@@ -0,0 +1,67 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Keeps every file written so far and rebuilds the archive from all of them whenever one changed, a later run only
+// hands over the files it rendered again
+public class ZipOutputSink implements OutputSink {
+    private final Path zipFile;
+    private final Map<String, String> pendingFiles = new ConcurrentHashMap<>();
+    private final Map<String, String> files = new TreeMap<>();
+
+    public ZipOutputSink(Path zipFile) {
+        this.zipFile = zipFile;
+    }
+
+    @Override
+    public void write(String path, String content) {
+        pendingFiles.put(path, content);
+    }
+
+    @Override
+    public synchronized boolean exists(String path) {
+        return files.containsKey(path);
+    }
+
+    @Override
+    public synchronized FlushResult flush() {
+        final List<String> changedFiles = new ArrayList<>();
+        for (Map.Entry<String, String> file : new TreeMap<>(pendingFiles).entrySet()) {
+            if (!file.getValue().equals(files.put(file.getKey(), file.getValue()))) changedFiles.add(file.getKey());
+        }
+        pendingFiles.clear();
+
+        if (changedFiles.isEmpty() && Files.exists(zipFile)) return new FlushResult(changedFiles, 0);
+
+        long writtenBytes = 0;
+        try {
+            if (zipFile.getParent() != null) Files.createDirectories(zipFile.getParent());
+
+            try (OutputStream outputStream = Files.newOutputStream(zipFile); ZipOutputStream zip = new ZipOutputStream(outputStream)) {
+                for (Map.Entry<String, String> file : files.entrySet()) {
+                    final ZipEntry entry = new ZipEntry(file.getKey());
+                    // a fixed timestamp keeps the archive identical between runs
+                    entry.setTime(0);
+                    zip.putNextEntry(entry);
+                    final byte[] content = file.getValue().getBytes(StandardCharsets.UTF_8);
+                    zip.write(content);
+                    writtenBytes += content.length;
+                    zip.closeEntry();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return new FlushResult(changedFiles, writtenBytes);
+    }
+}